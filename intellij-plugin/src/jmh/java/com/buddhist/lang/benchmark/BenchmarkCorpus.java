@@ -0,0 +1,117 @@
+package com.buddhist.lang.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Source texts the benchmarks run on. The examples directory is passed in by the build
+ * through the {@code buddhist.examples.dir} system property.
+ */
+final class BenchmarkCorpus {
+    static final String EXAMPLES = "examples";
+    static final String INTENSIVE_X10 = "intensive_x10";
+    static final String INTENSIVE_X100 = "intensive_x100";
+    static final String SYNTHETIC = "synthetic";
+
+    private BenchmarkCorpus() {
+    }
+
+    static String load(String name) {
+        switch (name) {
+            case EXAMPLES:
+                return allExamples();
+            case INTENSIVE_X10:
+                return repeat(example("benchmark_intensive.bl"), 10);
+            case INTENSIVE_X100:
+                return repeat(example("benchmark_intensive.bl"), 100);
+            case SYNTHETIC:
+                return synthetic(20_000, 42);
+            default:
+                throw new IllegalArgumentException("Unknown corpus: " + name);
+        }
+    }
+
+    private static Path examplesDir() {
+        return Paths.get(System.getProperty("buddhist.examples.dir", "../examples"));
+    }
+
+    private static String example(String fileName) {
+        return read(examplesDir().resolve(fileName));
+    }
+
+    private static String allExamples() {
+        try (Stream<Path> files = Files.walk(examplesDir())) {
+            List<Path> paths = files.filter(p -> p.toString().endsWith(".bl")).sorted().collect(Collectors.toList());
+            StringBuilder builder = new StringBuilder();
+            for (Path path : paths) {
+                builder.append(read(path)).append('\n');
+            }
+            return builder.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String read(Path path) {
+        try {
+            return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String repeat(String text, int times) {
+        StringBuilder builder = new StringBuilder(text.length() * times + times);
+        for (int i = 0; i < times; i++) {
+            builder.append(text).append('\n');
+        }
+        return builder.toString();
+    }
+
+    // Generated-code shaped input: many small functions, long concatenations, literals and comments
+    static String synthetic(int lines, long seed) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(lines * 32);
+        int line = 0;
+        while (line < lines) {
+            switch (random.nextInt(5)) {
+                case 0:
+                    builder.append("/* generated block ").append(line).append("\n   spanning lines */\n");
+                    line += 2;
+                    break;
+                case 1:
+                    builder.append("fn f").append(line).append("(a, b) {\n")
+                           .append("    if (a < b) {\n        return a * 2 + b;\n    }\n")
+                           .append("    return \"value: \" + a + \", \" + b;\n}\n");
+                    line += 6;
+                    break;
+                case 2:
+                    builder.append("place data").append(line).append(" = [");
+                    for (int i = 0; i < 16; i++) {
+                        builder.append(i == 0 ? "" : ", ").append(random.nextInt(1000));
+                    }
+                    builder.append("];\n");
+                    line++;
+                    break;
+                case 3:
+                    builder.append("place obj").append(line).append(" = {\"name\": \"n").append(line)
+                           .append("\", \"size\": ").append(random.nextDouble()).append("};\n");
+                    line++;
+                    break;
+                default:
+                    builder.append("// comment ").append(line).append('\n')
+                           .append("while (i < ").append(random.nextInt(100)).append(") { i = i + 1; }\n");
+                    line += 2;
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package com.buddhist.lang.benchmark;
+
+import com.buddhist.lang.highlighting.BuddhistSyntaxHighlighterFactory;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.fileTypes.SyntaxHighlighter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * What the editor does on repaint: run the highlighting lexer and map every token to its attributes.
+ */
+@State(Scope.Benchmark)
+public class HighlighterBenchmark {
+    @Param({BenchmarkCorpus.EXAMPLES, BenchmarkCorpus.INTENSIVE_X100, BenchmarkCorpus.SYNTHETIC})
+    public String corpus;
+
+    private String text;
+    private SyntaxHighlighter highlighter;
+
+    @Setup
+    public void setUp() {
+        text = BenchmarkCorpus.load(corpus);
+        highlighter = new BuddhistSyntaxHighlighterFactory.BuddhistSyntaxHighlighter();
+    }
+
+    @Benchmark
+    public void highlight(Blackhole blackhole) {
+        Lexer lexer = highlighter.getHighlightingLexer();
+        lexer.start(text);
+        while (lexer.getTokenType() != null) {
+            blackhole.consume(highlighter.getTokenHighlights(lexer.getTokenType()));
+            lexer.advance();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.buddhist.lang.benchmark;
+
+import com.buddhist.lang.lexer.BuddhistLexerSimple;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Lexer throughput. The {@code tokens} counter is reported next to the primary score, so JMH prints
+ * it as tokens per second.
+ */
+@State(Scope.Benchmark)
+public class LexerBenchmark {
+    @Param({BenchmarkCorpus.EXAMPLES, BenchmarkCorpus.INTENSIVE_X10, BenchmarkCorpus.INTENSIVE_X100, BenchmarkCorpus.SYNTHETIC})
+    public String corpus;
+
+    private String text;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class TokenCounter {
+        public long tokens;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            tokens = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        text = BenchmarkCorpus.load(corpus);
+    }
+
+    @Benchmark
+    public int lex(TokenCounter counter) {
+        BuddhistLexerSimple lexer = new BuddhistLexerSimple();
+        lexer.start(text, 0, text.length(), BuddhistLexerSimple.STATE_DEFAULT);
+        int count = 0;
+        while (lexer.getTokenType() != null) {
+            count++;
+            lexer.advance();
+        }
+        counter.tokens += count;
+        return count;
+    }
+}
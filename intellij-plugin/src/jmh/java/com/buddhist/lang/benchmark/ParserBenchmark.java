@@ -0,0 +1,44 @@
+package com.buddhist.lang.benchmark;
+
+import com.buddhist.lang.parser.BuddhistParser;
+import com.buddhist.lang.parser.BuddhistParserDefinition;
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.PsiBuilder;
+import com.intellij.lang.PsiBuilderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * {@link BuddhistParser#parse} on a fresh PsiBuilder, including building the AST.
+ */
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+    @Param({BenchmarkCorpus.EXAMPLES, BenchmarkCorpus.INTENSIVE_X10, BenchmarkCorpus.INTENSIVE_X100, BenchmarkCorpus.SYNTHETIC})
+    public String corpus;
+
+    private final PlatformEnvironment environment = new PlatformEnvironment();
+    private BuddhistParserDefinition definition;
+    private String text;
+
+    @Setup
+    public void setUp() throws Exception {
+        environment.start();
+        definition = new BuddhistParserDefinition();
+        text = BenchmarkCorpus.load(corpus);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        environment.stop();
+    }
+
+    @Benchmark
+    public ASTNode parse() {
+        PsiBuilder builder = PsiBuilderFactory.getInstance().createBuilder(definition, definition.createLexer(null), text);
+        return new BuddhistParser().parse(BuddhistParserDefinition.FILE, builder);
+    }
+}
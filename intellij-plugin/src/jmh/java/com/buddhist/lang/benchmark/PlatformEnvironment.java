@@ -0,0 +1,22 @@
+package com.buddhist.lang.benchmark;
+
+import com.buddhist.lang.parser.BuddhistParserDefinition;
+import com.intellij.testFramework.ParsingTestCase;
+
+/**
+ * Borrows the mock application that {@link ParsingTestCase} sets up, so PsiBuilder can run outside the IDE.
+ */
+final class PlatformEnvironment extends ParsingTestCase {
+    PlatformEnvironment() {
+        super("", "bl", new BuddhistParserDefinition());
+        setName("benchmark");
+    }
+
+    void start() throws Exception {
+        setUp();
+    }
+
+    void stop() throws Exception {
+        tearDown();
+    }
+}
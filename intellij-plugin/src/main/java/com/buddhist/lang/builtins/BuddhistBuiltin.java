@@ -0,0 +1,57 @@
+package com.buddhist.lang.builtins;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+// One builtin function of the Go runtime, as recorded in the generated catalog
+public final class BuddhistBuiltin {
+    public static final int ANY = -1;
+
+    private final String name;
+    private final int minArgs;
+    private final int maxArgs;
+    private final String usage;
+    private final String description;
+
+    BuddhistBuiltin(@NotNull String name, int minArgs, int maxArgs, @Nullable String usage, @Nullable String description) {
+        this.name = name;
+        this.minArgs = minArgs;
+        this.maxArgs = maxArgs;
+        this.usage = usage;
+        this.description = description;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    public int getMinArgs() {
+        return minArgs;
+    }
+
+    // ANY for variadic builtins
+    public int getMaxArgs() {
+        return maxArgs;
+    }
+
+    public boolean acceptsArgumentCount(int count) {
+        return count >= minArgs && (maxArgs == ANY || count <= maxArgs);
+    }
+
+    // An example call from the Go doc comment, e.g. readFile("path/to/file.txt")
+    @Nullable
+    public String getUsage() {
+        return usage;
+    }
+
+    @Nullable
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,92 @@
+package com.buddhist.lang.builtins;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The builtin functions of the runtime. The catalog is generated from pkg/object at build time (see the
+ * generateBuiltinCatalog task), read once on first use and shared, unmodifiable, by every project.
+ */
+public final class BuddhistBuiltinCatalog {
+    private static final String RESOURCE = "builtins.bin";
+    private static final int FORMAT_VERSION = 1;
+
+    private final List<BuddhistBuiltin> builtins;
+    private final Map<String, BuddhistBuiltin> byName;
+
+    private BuddhistBuiltinCatalog(@NotNull List<BuddhistBuiltin> builtins) {
+        Map<String, BuddhistBuiltin> byName = new HashMap<>();
+        for (BuddhistBuiltin builtin : builtins) {
+            byName.put(builtin.getName(), builtin);
+        }
+        this.builtins = Collections.unmodifiableList(builtins);
+        this.byName = Collections.unmodifiableMap(byName);
+    }
+
+    @NotNull
+    public static BuddhistBuiltinCatalog getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    // Sorted by name
+    @NotNull
+    public List<BuddhistBuiltin> getAll() {
+        return builtins;
+    }
+
+    @Nullable
+    public BuddhistBuiltin get(@NotNull String name) {
+        return byName.get(name);
+    }
+
+    public boolean contains(@NotNull String name) {
+        return byName.containsKey(name);
+    }
+
+    // Class loading makes the first access load the catalog exactly once
+    private static final class Holder {
+        static final BuddhistBuiltinCatalog INSTANCE = load();
+    }
+
+    @NotNull
+    private static BuddhistBuiltinCatalog load() {
+        try (InputStream stream = BuddhistBuiltinCatalog.class.getResourceAsStream(RESOURCE)) {
+            if (stream == null) {
+                throw new IllegalStateException("Builtin catalog " + RESOURCE + " is missing; run the generateBuiltinCatalog task");
+            }
+            return read(new DataInputStream(new BufferedInputStream(stream)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Builtin catalog " + RESOURCE + " is corrupt", e);
+        }
+    }
+
+    @NotNull
+    private static BuddhistBuiltinCatalog read(@NotNull DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported builtin catalog version " + version);
+        }
+        int count = in.readInt();
+        List<BuddhistBuiltin> builtins = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = in.readUTF().intern();
+            int minArgs = in.readByte();
+            int maxArgs = in.readByte();
+            String usage = in.readUTF();
+            String description = in.readUTF();
+            builtins.add(new BuddhistBuiltin(name, minArgs, maxArgs,
+                    usage.isEmpty() ? null : usage, description.isEmpty() ? null : description));
+        }
+        return new BuddhistBuiltinCatalog(builtins);
+    }
+}
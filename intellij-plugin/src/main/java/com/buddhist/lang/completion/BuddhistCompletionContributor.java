@@ -0,0 +1,153 @@
+package com.buddhist.lang.completion;
+
+import com.buddhist.lang.builtins.BuddhistBuiltin;
+import com.buddhist.lang.builtins.BuddhistBuiltinCatalog;
+import com.buddhist.lang.lexer.BuddhistKeywords;
+import com.buddhist.lang.psi.BuddhistDeclaration;
+import com.buddhist.lang.psi.BuddhistReferenceExpression;
+import com.buddhist.lang.psi.BuddhistTypes;
+import com.buddhist.lang.psi.stubs.BuddhistExportIndex;
+import com.buddhist.lang.resolve.BuddhistScopeTree;
+import com.intellij.codeInsight.completion.CompletionContributor;
+import com.intellij.codeInsight.completion.CompletionParameters;
+import com.intellij.codeInsight.completion.CompletionProvider;
+import com.intellij.codeInsight.completion.CompletionResultSet;
+import com.intellij.codeInsight.completion.CompletionType;
+import com.intellij.codeInsight.completion.PrefixMatcher;
+import com.intellij.codeInsight.lookup.LookupElementBuilder;
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.patterns.PlatformPatterns;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.util.ProcessingContext;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Completes bare names from precomputed tables only: the keyword table, the builtin catalog, the cached
+ * scope tree of the file and the export stub index. Nothing is parsed or walked per request, the number of
+ * items is capped and every loop checks for cancellation, since the lookup restarts on each typed character.
+ */
+public class BuddhistCompletionContributor extends CompletionContributor {
+    private static final int MAX_RESULTS = 200;
+
+    public BuddhistCompletionContributor() {
+        extend(CompletionType.BASIC,
+                PlatformPatterns.psiElement(BuddhistTypes.IDENTIFIER).withParent(BuddhistReferenceExpression.class),
+                new CompletionProvider<>() {
+                    @Override
+                    protected void addCompletions(@NotNull CompletionParameters parameters, @NotNull ProcessingContext context,
+                                                  @NotNull CompletionResultSet result) {
+                        new Session(parameters, result).run();
+                    }
+                });
+    }
+
+    private static final class Session {
+        private final CompletionParameters parameters;
+        private final CompletionResultSet result;
+        private final PrefixMatcher matcher;
+        // Names already offered; a local shadows a builtin or an export of the same name
+        private final Set<String> offered = new HashSet<>();
+
+        Session(@NotNull CompletionParameters parameters, @NotNull CompletionResultSet result) {
+            this.parameters = parameters;
+            this.result = result;
+            this.matcher = result.getPrefixMatcher();
+        }
+
+        void run() {
+            if (addLocals() && addKeywords() && addBuiltins()) {
+                addExports();
+            }
+        }
+
+        // The scope tree of the original file is the one already cached for highlighting and resolve
+        private boolean addLocals() {
+            PsiFile file = parameters.getOriginalFile();
+            return BuddhistScopeTree.getInstance(file).processVisibleDeclarations(parameters.getOffset(), declaration -> {
+                String name = declaration.getName();
+                return name == null || !matches(name) || add(LookupElementBuilder.createWithIcon(declaration));
+            });
+        }
+
+        private boolean addKeywords() {
+            for (String keyword : BuddhistKeywords.all()) {
+                if (matches(keyword) && !add(LookupElementBuilder.create(keyword).bold())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean addBuiltins() {
+            for (BuddhistBuiltin builtin : BuddhistBuiltinCatalog.getInstance().getAll()) {
+                if (matches(builtin.getName()) && !add(LookupElementBuilder.create(builtin, builtin.getName())
+                        .withIcon(AllIcons.Nodes.Function)
+                        .withTypeText("builtin"))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Exports of other files, by index key. Declarations are only loaded for names that match.
+        private void addExports() {
+            Project project = parameters.getPosition().getProject();
+            GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+            VirtualFile currentFile = parameters.getOriginalFile().getVirtualFile();
+            List<String> names = new ArrayList<>();
+            StubIndex.getInstance().processAllKeys(BuddhistExportIndex.KEY, name -> {
+                ProgressManager.checkCanceled();
+                if (!offered.contains(name) && matches(name)) {
+                    names.add(name);
+                }
+                return names.size() < MAX_RESULTS;
+            }, scope, null);
+
+            for (String name : names) {
+                boolean proceed = StubIndex.getInstance().processElements(BuddhistExportIndex.KEY, name, project, scope,
+                        BuddhistDeclaration.class, declaration -> {
+                            VirtualFile module = declaration.getContainingFile().getVirtualFile();
+                            if (module == null || module.equals(currentFile)) {
+                                return true;
+                            }
+                            return add(LookupElementBuilder.create(declaration, name)
+                                    .withIcon(declaration.getIcon(0))
+                                    .withTypeText(module.getName()));
+                        });
+                if (!proceed) {
+                    return;
+                }
+            }
+        }
+
+        // Always the result's own matcher: in the IDE it also matches in the middle of names (File finds
+        // readFile), so no cheaper check on the first letter can stand in for it
+        private boolean matches(@NotNull String name) {
+            return matcher.prefixMatches(name);
+        }
+
+        // Returns false once the cap is reached. Narrowing the prefix then restarts completion, so the
+        // capped-off items show up as soon as they can fit.
+        private boolean add(@NotNull LookupElementBuilder element) {
+            ProgressManager.checkCanceled();
+            if (offered.size() >= MAX_RESULTS) {
+                result.restartCompletionOnAnyPrefixChange();
+                return false;
+            }
+            if (offered.add(element.getLookupString())) {
+                result.addElement(element);
+            }
+            return true;
+        }
+    }
+}
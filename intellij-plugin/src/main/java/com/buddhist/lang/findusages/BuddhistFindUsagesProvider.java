@@ -0,0 +1,95 @@
+package com.buddhist.lang.findusages;
+
+import com.buddhist.lang.lexer.BuddhistCachedLexer;
+import com.buddhist.lang.psi.BuddhistClassDeclaration;
+import com.buddhist.lang.psi.BuddhistConstDeclaration;
+import com.buddhist.lang.psi.BuddhistExportSpecifier;
+import com.buddhist.lang.psi.BuddhistFieldDeclaration;
+import com.buddhist.lang.psi.BuddhistFunctionDeclaration;
+import com.buddhist.lang.psi.BuddhistImportSpecifier;
+import com.buddhist.lang.psi.BuddhistLetStatement;
+import com.buddhist.lang.psi.BuddhistParameter;
+import com.buddhist.lang.psi.BuddhistTokenSets;
+import com.buddhist.lang.psi.BuddhistTypes;
+import com.intellij.lang.cacheBuilder.DefaultWordsScanner;
+import com.intellij.lang.cacheBuilder.WordsScanner;
+import com.intellij.lang.findUsages.FindUsagesProvider;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiNamedElement;
+import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The words scanner feeds the platform's word index, which narrows find usages and rename down to the files
+ * that mention a name before any of them is parsed. It replays the plain per-line lexer through the token cache;
+ * words never span lines.
+ */
+public class BuddhistFindUsagesProvider implements FindUsagesProvider {
+    private static final TokenSet IDENTIFIERS = TokenSet.create(BuddhistTypes.IDENTIFIER);
+
+    @Nullable
+    @Override
+    public WordsScanner getWordsScanner() {
+        // Scanners keep lexer state, so each indexing thread needs its own
+        DefaultWordsScanner scanner = new DefaultWordsScanner(new BuddhistCachedLexer(),
+                IDENTIFIERS, BuddhistTokenSets.COMMENTS, BuddhistTokenSets.STRINGS);
+        // Import paths are string literals
+        scanner.setMayHaveFileRefsInLiterals(true);
+        return scanner;
+    }
+
+    @Override
+    public boolean canFindUsagesFor(@NotNull PsiElement element) {
+        return element instanceof PsiNamedElement && !getType(element).isEmpty();
+    }
+
+    @Nullable
+    @Override
+    public String getHelpId(@NotNull PsiElement element) {
+        return null;
+    }
+
+    @NotNull
+    @Override
+    public String getType(@NotNull PsiElement element) {
+        if (element instanceof BuddhistFunctionDeclaration) {
+            return "function";
+        }
+        if (element instanceof BuddhistClassDeclaration) {
+            return "class";
+        }
+        if (element instanceof BuddhistConstDeclaration) {
+            return "constant";
+        }
+        if (element instanceof BuddhistLetStatement) {
+            return "variable";
+        }
+        if (element instanceof BuddhistParameter) {
+            return "parameter";
+        }
+        if (element instanceof BuddhistFieldDeclaration) {
+            return "field";
+        }
+        if (element instanceof BuddhistImportSpecifier) {
+            return "import";
+        }
+        if (element instanceof BuddhistExportSpecifier) {
+            return "export";
+        }
+        return "";
+    }
+
+    @NotNull
+    @Override
+    public String getDescriptiveName(@NotNull PsiElement element) {
+        String name = element instanceof PsiNamedElement ? ((PsiNamedElement) element).getName() : null;
+        return name != null ? name : "";
+    }
+
+    @NotNull
+    @Override
+    public String getNodeText(@NotNull PsiElement element, boolean useFullName) {
+        return getDescriptiveName(element);
+    }
+}
@@ -38,18 +38,18 @@ public class BuddhistColorSettingsPage implements ColorSettingsPage {
     @Override
     public String getDemoText() {
         return "// Buddhist Language Example\n" +
-               "let name = \"Buddhist\";\n" +
-               "let version = 1.0;\n" +
+               "place name = \"Buddhist\";\n" +
+               "place version = 1.0;\n" +
                "\n" +
-               "let fibonacci = fn(n) {\n" +
+               "place fibonacci = fn(n) {\n" +
                "    if (n <= 1) {\n" +
                "        return n;\n" +
                "    }\n" +
                "    return fibonacci(n - 1) + fibonacci(n - 2);\n" +
                "};\n" +
                "\n" +
-               "let arr = [1, 2, 3, 4, 5];\n" +
-               "let person = {\"name\": \"Buddhist\", \"age\": 1};";
+               "place arr = [1, 2, 3, 4, 5];\n" +
+               "place person = {\"name\": \"Buddhist\", \"age\": 1};";
     }
 
     @Nullable
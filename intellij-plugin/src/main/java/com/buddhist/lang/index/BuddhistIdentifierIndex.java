@@ -0,0 +1,111 @@
+package com.buddhist.lang.index;
+
+import com.buddhist.lang.BuddhistFileType;
+import com.buddhist.lang.lexer.BuddhistTokenCache;
+import com.buddhist.lang.lexer.BuddhistTokenStream;
+import com.buddhist.lang.psi.BuddhistTypes;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorIntegerDescriptor;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * How often each identifier occurs in each file, counted from a single pass of the plain lexer with no PSI.
+ * Counts are lexical: a declaration's own name and member names after a dot count as occurrences too, so
+ * they are an upper bound on references and exact for "is this name used anywhere else".
+ */
+public class BuddhistIdentifierIndex extends FileBasedIndexExtension<String, Integer> {
+    public static final ID<String, Integer> NAME = ID.create("buddhist.identifiers");
+
+    @NotNull
+    @Override
+    public ID<String, Integer> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Integer, FileContent> getIndexer() {
+        return content -> {
+            CharSequence text = content.getContentAsText();
+            Map<String, Integer> counts = new HashMap<>();
+            // Reuses the editor's tokens when the file is open; otherwise lexes without caching, so bulk indexing
+            // doesn't push the editor's entries out of the cache
+            BuddhistTokenStream tokens = BuddhistTokenCache.get(text);
+            if (tokens == null) {
+                tokens = BuddhistTokenStream.lex(text);
+            }
+            short identifier = BuddhistTypes.IDENTIFIER.getIndex();
+            for (int i = 0; i < tokens.size(); i++) {
+                if (tokens.getTypeIndex(i) == identifier) {
+                    counts.merge(text.subSequence(tokens.getStart(i), tokens.getEnd(i)).toString(), 1, Integer::sum);
+                }
+            }
+            return counts;
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<Integer> getValueExternalizer() {
+        return EnumeratorIntegerDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(BuddhistFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    // Occurrences of name in file, 0 when it doesn't appear there
+    public static int getOccurrences(@NotNull String name, @NotNull VirtualFile file, @NotNull Project project) {
+        Map<String, Integer> data = FileBasedIndex.getInstance().getFileData(NAME, file, project);
+        return data.getOrDefault(name, 0);
+    }
+
+    // Occurrences of name across all files in scope
+    public static int getOccurrences(@NotNull String name, @NotNull GlobalSearchScope scope) {
+        int[] total = new int[1];
+        FileBasedIndex.getInstance().processValues(NAME, name, null, (file, count) -> {
+            ProgressManager.checkCanceled();
+            total[0] += count;
+            return true;
+        }, scope);
+        return total[0];
+    }
+
+    // Number of files in scope that mention name
+    public static int getFileCount(@NotNull String name, @NotNull GlobalSearchScope scope) {
+        return FileBasedIndex.getInstance().getContainingFiles(NAME, name, scope).size();
+    }
+}
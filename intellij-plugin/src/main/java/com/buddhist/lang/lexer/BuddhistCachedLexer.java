@@ -0,0 +1,95 @@
+package com.buddhist.lang.lexer;
+
+import com.intellij.lexer.Lexer;
+import com.intellij.lexer.LexerBase;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Produces the same tokens as {@link BuddhistLexerSimple}, replayed from {@link BuddhistTokenCache} when the text
+ * is cached and lexed directly otherwise. Only the highlighting lexer, which is always given an editor's document
+ * snapshot, fills the cache: by lexing whole texts into it, and when the editor restarts it in the middle of a new
+ * snapshot after a change, by recording that snapshot as an edit of the one it lexed before. The editor relexes
+ * only the changed range directly, and the cache splices the rest in when the parser first asks for the tokens.
+ */
+public class BuddhistCachedLexer extends LexerBase {
+    private final BuddhistLexerSimple direct = new BuddhistLexerSimple();
+    private final boolean populatesCache;
+    // Either direct or a replay of a cached stream
+    private Lexer current = direct;
+    // The text the highlighting lexer was last started on, i.e. the document version before an edit
+    private WeakReference<CharSequence> previous;
+
+    // Replays cached tokens but never adds any
+    public BuddhistCachedLexer() {
+        this(false);
+    }
+
+    BuddhistCachedLexer(boolean populatesCache) {
+        this.populatesCache = populatesCache;
+    }
+
+    @Override
+    public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState) {
+        current = direct;
+        // Cached streams always run to the end of the text
+        if (endOffset == buffer.length()) {
+            CharSequence before = previous == null ? null : previous.get();
+            BuddhistTokenStream cached;
+            if (!populatesCache) {
+                cached = BuddhistTokenCache.get(buffer);
+            } else if (startOffset == 0 && initialState == BuddhistLexerSimple.STATE_DEFAULT) {
+                cached = BuddhistTokenCache.getOrLex(before, buffer);
+            } else {
+                cached = BuddhistTokenCache.getOrRecordEdit(before, buffer);
+            }
+            if (cached != null && cached.indexOf(startOffset, initialState) >= 0) {
+                current = cached.createLexer();
+            }
+        }
+        if (populatesCache) {
+            previous = new WeakReference<>(buffer);
+        }
+        current.start(buffer, startOffset, endOffset, initialState);
+    }
+
+    @Override
+    public int getState() {
+        return current.getState();
+    }
+
+    @Nullable
+    @Override
+    public IElementType getTokenType() {
+        return current.getTokenType();
+    }
+
+    @Override
+    public int getTokenStart() {
+        return current.getTokenStart();
+    }
+
+    @Override
+    public int getTokenEnd() {
+        return current.getTokenEnd();
+    }
+
+    @Override
+    public void advance() {
+        current.advance();
+    }
+
+    @NotNull
+    @Override
+    public CharSequence getBufferSequence() {
+        return current.getBufferSequence();
+    }
+
+    @Override
+    public int getBufferEnd() {
+        return current.getBufferEnd();
+    }
+}
@@ -0,0 +1,102 @@
+package com.buddhist.lang.lexer;
+
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keyword table bucketed by length and first letter, so the lexer can look up an identifier
+ * straight from the buffer without creating a String for it. The keywords themselves come from
+ * {@link BuddhistKeywordTable}, which is generated from the Go lexer's keyword map.
+ */
+public final class BuddhistKeywords {
+    private static final int MAX_LENGTH = maxLength(BuddhistKeywordTable.SPELLINGS);
+
+    // [length][first letter - 'a'] -> keywords with that length and first letter
+    private static final char[][][][] SPELLINGS = new char[MAX_LENGTH + 1][26][][];
+    private static final IElementType[][][] TYPES = new IElementType[MAX_LENGTH + 1][26][];
+    private static final List<String> ALL = new ArrayList<>();
+    private static final TokenSet ALL_TYPES = TokenSet.create(BuddhistKeywordTable.TYPES);
+
+    static {
+        for (int i = 0; i < BuddhistKeywordTable.SPELLINGS.length; i++) {
+            add(BuddhistKeywordTable.SPELLINGS[i], BuddhistKeywordTable.TYPES[i]);
+        }
+    }
+
+    private BuddhistKeywords() {
+    }
+
+    private static int maxLength(String[] keywords) {
+        int max = 0;
+        for (String keyword : keywords) {
+            max = Math.max(max, keyword.length());
+        }
+        return max;
+    }
+
+    private static void add(String keyword, IElementType type) {
+        int length = keyword.length();
+        int letter = keyword.charAt(0) - 'a';
+        char[][] spellings = SPELLINGS[length][letter];
+        IElementType[] types = TYPES[length][letter];
+        int count = spellings == null ? 0 : spellings.length;
+
+        char[][] newSpellings = new char[count + 1][];
+        IElementType[] newTypes = new IElementType[count + 1];
+        if (count > 0) {
+            System.arraycopy(spellings, 0, newSpellings, 0, count);
+            System.arraycopy(types, 0, newTypes, 0, count);
+        }
+        newSpellings[count] = keyword.toCharArray();
+        newTypes[count] = type;
+        SPELLINGS[length][letter] = newSpellings;
+        TYPES[length][letter] = newTypes;
+        ALL.add(keyword);
+    }
+
+    @NotNull
+    public static List<String> all() {
+        return Collections.unmodifiableList(ALL);
+    }
+
+    @NotNull
+    public static TokenSet types() {
+        return ALL_TYPES;
+    }
+
+    /**
+     * Returns the keyword type spelled by {@code text[start, end)}, or {@code null} for a plain identifier.
+     */
+    @Nullable
+    public static IElementType lookup(@NotNull CharSequence text, int start, int end) {
+        int length = end - start;
+        if (length < 2 || length > MAX_LENGTH) {
+            return null;
+        }
+        int letter = text.charAt(start) - 'a';
+        if (letter < 0 || letter >= 26) {
+            return null;
+        }
+        char[][] spellings = SPELLINGS[length][letter];
+        if (spellings == null) {
+            return null;
+        }
+        candidates:
+        for (int i = 0; i < spellings.length; i++) {
+            char[] spelling = spellings[i];
+            for (int j = 1; j < length; j++) {
+                if (spelling[j] != text.charAt(start + j)) {
+                    continue candidates;
+                }
+            }
+            return TYPES[length][letter][i];
+        }
+        return null;
+    }
+}
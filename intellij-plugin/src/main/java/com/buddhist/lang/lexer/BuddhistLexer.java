@@ -1,10 +1,42 @@
 package com.buddhist.lang.lexer;
 
+import com.buddhist.lang.psi.BuddhistTypes;
 import com.intellij.lexer.Lexer;
+import com.intellij.lexer.MergeFunction;
+import com.intellij.lexer.MergingLexerAdapterBase;
+import org.jetbrains.annotations.NotNull;
 
 public class BuddhistLexer {
+    // Joins the per-line continuation tokens of block comments and strings back into one token
+    private static final MergeFunction MERGE_CONTINUATIONS = (type, lexer) -> {
+        int continuationState;
+        if (type == BuddhistTypes.BLOCK_COMMENT) {
+            continuationState = BuddhistLexerSimple.STATE_IN_BLOCK_COMMENT;
+        } else if (type == BuddhistTypes.STRING) {
+            continuationState = BuddhistLexerSimple.STATE_IN_STRING;
+        } else {
+            return type;
+        }
+        while (lexer.getTokenType() == type && lexer.getState() == continuationState) {
+            lexer.advance();
+        }
+        return type;
+    };
+
     public static Lexer createLexer() {
-        // Use simple lexer implementation (no JFlex required)
-        return new BuddhistLexerSimple();
+        // Use simple lexer implementation (no JFlex required), replaying the tokens the highlighter already produced
+        return new MergingLexerAdapterBase(new BuddhistCachedLexer()) {
+            @NotNull
+            @Override
+            public MergeFunction getMergeFunction() {
+                return MERGE_CONTINUATIONS;
+            }
+        };
+    }
+
+    public static Lexer createHighlightingLexer() {
+        // Keeps block comments and strings split per line so the editor can restart lexing inside them. The
+        // editor always lexes its document's snapshot, so this is the one lexer that fills the token cache.
+        return new BuddhistCachedLexer(true);
     }
 }
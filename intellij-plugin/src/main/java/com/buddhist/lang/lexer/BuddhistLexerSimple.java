@@ -6,46 +6,57 @@ import com.intellij.psi.tree.IElementType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
-
+/**
+ * Block comments and strings are emitted one line at a time, and the continuation lines start in
+ * {@link #STATE_IN_BLOCK_COMMENT} / {@link #STATE_IN_STRING}, so lexing can be restarted at any token.
+ * {@link BuddhistLexer#createLexer()} merges the lines back into single tokens for the parser.
+ */
 public class BuddhistLexerSimple extends LexerBase {
+    public static final int STATE_DEFAULT = 0;
+    public static final int STATE_IN_BLOCK_COMMENT = 1;
+    public static final int STATE_IN_STRING = 2;
+
+    // Character classes. ASCII is looked up in CLASSES; anything else goes through classOfNonAscii, which
+    // keeps Unicode letters (Vietnamese identifiers) and whitespace working.
+    private static final byte OTHER = 0;
+    private static final byte WHITESPACE = 1;
+    private static final byte DIGIT = 2;
+    private static final byte LETTER = 3;
+    private static final byte[] CLASSES = new byte[128];
+    // Tokens that are always a single ASCII char, i.e. none of the two-char operators start with them
+    private static final IElementType[] SINGLE_CHAR_TOKENS = new IElementType[128];
+
+    static {
+        for (char c = 0; c < CLASSES.length; c++) {
+            CLASSES[c] = classOfNonAscii(c);
+        }
+        CLASSES['_'] = LETTER;
+
+        SINGLE_CHAR_TOKENS['+'] = BuddhistTypes.PLUS;
+        SINGLE_CHAR_TOKENS['-'] = BuddhistTypes.MINUS;
+        SINGLE_CHAR_TOKENS['*'] = BuddhistTypes.ASTERISK;
+        SINGLE_CHAR_TOKENS['/'] = BuddhistTypes.SLASH;
+        SINGLE_CHAR_TOKENS['%'] = BuddhistTypes.MODULO;
+        SINGLE_CHAR_TOKENS[','] = BuddhistTypes.COMMA;
+        SINGLE_CHAR_TOKENS['.'] = BuddhistTypes.DOT;
+        SINGLE_CHAR_TOKENS[';'] = BuddhistTypes.SEMICOLON;
+        SINGLE_CHAR_TOKENS[':'] = BuddhistTypes.COLON;
+        SINGLE_CHAR_TOKENS['('] = BuddhistTypes.LPAREN;
+        SINGLE_CHAR_TOKENS[')'] = BuddhistTypes.RPAREN;
+        SINGLE_CHAR_TOKENS['{'] = BuddhistTypes.LBRACE;
+        SINGLE_CHAR_TOKENS['}'] = BuddhistTypes.RBRACE;
+        SINGLE_CHAR_TOKENS['['] = BuddhistTypes.LBRACKET;
+        SINGLE_CHAR_TOKENS[']'] = BuddhistTypes.RBRACKET;
+    }
+
     private CharSequence buffer;
     private int startOffset;
     private int endOffset;
     private int currentOffset;
     private IElementType currentToken;
     private int tokenStart;
-
-    private static final Map<String, IElementType> KEYWORDS = new HashMap<>();
-    
-    static {
-        KEYWORDS.put("fn", BuddhistTypes.FUNCTION);
-        KEYWORDS.put("let", BuddhistTypes.LET);
-        KEYWORDS.put("const", BuddhistTypes.CONST);
-        KEYWORDS.put("true", BuddhistTypes.TRUE);
-        KEYWORDS.put("false", BuddhistTypes.FALSE);
-        KEYWORDS.put("if", BuddhistTypes.IF);
-        KEYWORDS.put("else", BuddhistTypes.ELSE);
-        KEYWORDS.put("then", BuddhistTypes.THEN);
-        KEYWORDS.put("return", BuddhistTypes.RETURN);
-        KEYWORDS.put("for", BuddhistTypes.FOR);
-        KEYWORDS.put("while", BuddhistTypes.WHILE);
-        KEYWORDS.put("break", BuddhistTypes.BREAK);
-        KEYWORDS.put("continue", BuddhistTypes.CONTINUE);
-        KEYWORDS.put("null", BuddhistTypes.NULL);
-        KEYWORDS.put("spawn", BuddhistTypes.SPAWN);
-        KEYWORDS.put("channel", BuddhistTypes.CHANNEL);
-        KEYWORDS.put("class", BuddhistTypes.CLASS);
-        KEYWORDS.put("import", BuddhistTypes.IMPORT);
-        KEYWORDS.put("export", BuddhistTypes.EXPORT);
-        KEYWORDS.put("from", BuddhistTypes.FROM);
-        KEYWORDS.put("try", BuddhistTypes.TRY);
-        KEYWORDS.put("catch", BuddhistTypes.CATCH);
-        KEYWORDS.put("finally", BuddhistTypes.FINALLY);
-        KEYWORDS.put("throw", BuddhistTypes.THROW);
-        KEYWORDS.put("blob", BuddhistTypes.BLOB);
-    }
+    private int tokenState;
+    private int state;
 
     @Override
     public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState) {
@@ -54,12 +65,13 @@ public class BuddhistLexerSimple extends LexerBase {
         this.endOffset = endOffset;
         this.currentOffset = startOffset;
         this.tokenStart = startOffset;
+        this.state = initialState;
         advance();
     }
 
     @Override
     public int getState() {
-        return 0;
+        return tokenState;
     }
 
     @Nullable
@@ -81,17 +93,31 @@ public class BuddhistLexerSimple extends LexerBase {
     @Override
     public void advance() {
         tokenStart = currentOffset;
+        tokenState = state;
         
         if (currentOffset >= endOffset) {
             currentToken = null;
             return;
         }
 
+        // Continuation of a multi-line block comment or string
+        if (state == STATE_IN_BLOCK_COMMENT) {
+            scanBlockCommentLine();
+            currentToken = BuddhistTypes.BLOCK_COMMENT;
+            return;
+        }
+        if (state == STATE_IN_STRING) {
+            scanStringLine();
+            currentToken = BuddhistTypes.STRING;
+            return;
+        }
+
         char ch = buffer.charAt(currentOffset);
+        byte charClass = classOf(ch);
 
         // Skip whitespace
-        if (Character.isWhitespace(ch)) {
-            while (currentOffset < endOffset && Character.isWhitespace(buffer.charAt(currentOffset))) {
+        if (charClass == WHITESPACE) {
+            while (currentOffset < endOffset && classOf(buffer.charAt(currentOffset)) == WHITESPACE) {
                 currentOffset++;
             }
             currentToken = com.intellij.psi.TokenType.WHITE_SPACE;
@@ -110,13 +136,8 @@ public class BuddhistLexerSimple extends LexerBase {
         // Block comment
         if (ch == '/' && currentOffset + 1 < endOffset && buffer.charAt(currentOffset + 1) == '*') {
             currentOffset += 2;
-            while (currentOffset < endOffset - 1) {
-                if (buffer.charAt(currentOffset) == '*' && buffer.charAt(currentOffset + 1) == '/') {
-                    currentOffset += 2;
-                    break;
-                }
-                currentOffset++;
-            }
+            state = STATE_IN_BLOCK_COMMENT;
+            scanBlockCommentLine();
             currentToken = BuddhistTypes.BLOCK_COMMENT;
             return;
         }
@@ -124,27 +145,21 @@ public class BuddhistLexerSimple extends LexerBase {
         // String literal
         if (ch == '"') {
             currentOffset++;
-            while (currentOffset < endOffset) {
-                char c = buffer.charAt(currentOffset);
-                if (c == '"' && (currentOffset == tokenStart + 1 || buffer.charAt(currentOffset - 1) != '\\')) {
-                    currentOffset++;
-                    break;
-                }
-                currentOffset++;
-            }
+            state = STATE_IN_STRING;
+            scanStringLine();
             currentToken = BuddhistTypes.STRING;
             return;
         }
 
         // Numbers
-        if (Character.isDigit(ch)) {
-            while (currentOffset < endOffset && Character.isDigit(buffer.charAt(currentOffset))) {
+        if (charClass == DIGIT) {
+            while (currentOffset < endOffset && classOf(buffer.charAt(currentOffset)) == DIGIT) {
                 currentOffset++;
             }
             if (currentOffset < endOffset && buffer.charAt(currentOffset) == '.' && 
-                currentOffset + 1 < endOffset && Character.isDigit(buffer.charAt(currentOffset + 1))) {
+                currentOffset + 1 < endOffset && classOf(buffer.charAt(currentOffset + 1)) == DIGIT) {
                 currentOffset++;
-                while (currentOffset < endOffset && Character.isDigit(buffer.charAt(currentOffset))) {
+                while (currentOffset < endOffset && classOf(buffer.charAt(currentOffset)) == DIGIT) {
                     currentOffset++;
                 }
                 currentToken = BuddhistTypes.FLOAT;
@@ -155,14 +170,13 @@ public class BuddhistLexerSimple extends LexerBase {
         }
 
         // Identifiers and keywords
-        if (Character.isLetter(ch) || ch == '_') {
+        if (charClass == LETTER) {
             int start = currentOffset;
-            while (currentOffset < endOffset && 
-                   (Character.isLetterOrDigit(buffer.charAt(currentOffset)) || buffer.charAt(currentOffset) == '_')) {
+            while (currentOffset < endOffset && classOf(buffer.charAt(currentOffset)) >= DIGIT) {
                 currentOffset++;
             }
-            String identifier = buffer.subSequence(start, currentOffset).toString();
-            currentToken = KEYWORDS.getOrDefault(identifier, BuddhistTypes.IDENTIFIER);
+            IElementType keyword = BuddhistKeywords.lookup(buffer, start, currentOffset);
+            currentToken = keyword != null ? keyword : BuddhistTypes.IDENTIFIER;
             return;
         }
 
@@ -231,65 +245,81 @@ public class BuddhistLexerSimple extends LexerBase {
                     currentToken = BuddhistTypes.BAD_CHARACTER;
                 }
                 return;
-            case '+':
-                currentOffset++;
-                currentToken = BuddhistTypes.PLUS;
-                return;
-            case '-':
-                currentOffset++;
-                currentToken = BuddhistTypes.MINUS;
-                return;
-            case '*':
-                currentOffset++;
-                currentToken = BuddhistTypes.ASTERISK;
-                return;
-            case '/':
-                currentOffset++;
-                currentToken = BuddhistTypes.SLASH;
-                return;
-            case '%':
-                currentOffset++;
-                currentToken = BuddhistTypes.MODULO;
-                return;
-            case ',':
-                currentOffset++;
-                currentToken = BuddhistTypes.COMMA;
-                return;
-            case ';':
-                currentOffset++;
-                currentToken = BuddhistTypes.SEMICOLON;
-                return;
-            case ':':
-                currentOffset++;
-                currentToken = BuddhistTypes.COLON;
-                return;
-            case '(':
-                currentOffset++;
-                currentToken = BuddhistTypes.LPAREN;
-                return;
-            case ')':
+            default:
                 currentOffset++;
-                currentToken = BuddhistTypes.RPAREN;
-                return;
-            case '{':
+                IElementType token = ch < SINGLE_CHAR_TOKENS.length ? SINGLE_CHAR_TOKENS[ch] : null;
+                currentToken = token != null ? token : BuddhistTypes.BAD_CHARACTER;
+        }
+    }
+
+    /**
+     * The first offset from {@code from} on that starts a line with a non-whitespace char, or {@code endOffset}
+     * if there is none. Whatever the state, a token always ends there (whitespace runs stop at it, and block
+     * comment and string continuations end with the line), so lexing can be restarted at it without lexing
+     * what comes before, as long as the state it is reached in is known or can be checked afterwards.
+     */
+    public static int findRestartPoint(@NotNull CharSequence text, int from, int endOffset) {
+        for (int offset = from; offset < endOffset; offset++) {
+            if ((offset == 0 || text.charAt(offset - 1) == '\n') && classOf(text.charAt(offset)) != WHITESPACE) {
+                return offset;
+            }
+        }
+        return endOffset;
+    }
+
+    // The last restart point before offset, or 0. The tokens before it depend on no text past its first char.
+    public static int findRestartPointBefore(@NotNull CharSequence text, int offset) {
+        for (int restart = Math.min(offset, text.length()) - 1; restart > 0; restart--) {
+            if (text.charAt(restart - 1) == '\n' && classOf(text.charAt(restart)) != WHITESPACE) {
+                return restart;
+            }
+        }
+        return 0;
+    }
+
+    // DIGIT and LETTER are the two highest classes, so classOf(c) >= DIGIT means an identifier char
+    private static byte classOf(char c) {
+        return c < CLASSES.length ? CLASSES[c] : classOfNonAscii(c);
+    }
+
+    private static byte classOfNonAscii(char c) {
+        if (Character.isWhitespace(c)) {
+            return WHITESPACE;
+        }
+        if (Character.isDigit(c)) {
+            return DIGIT;
+        }
+        return Character.isLetter(c) ? LETTER : OTHER;
+    }
+
+    // Consumes up to the closing "*/" or through the end of the line, whichever comes first
+    private void scanBlockCommentLine() {
+        while (currentOffset < endOffset) {
+            char c = buffer.charAt(currentOffset++);
+            if (c == '*' && currentOffset < endOffset && buffer.charAt(currentOffset) == '/') {
                 currentOffset++;
-                currentToken = BuddhistTypes.LBRACE;
+                state = STATE_DEFAULT;
                 return;
-            case '}':
-                currentOffset++;
-                currentToken = BuddhistTypes.RBRACE;
+            }
+            if (c == '\n') {
                 return;
-            case '[':
-                currentOffset++;
-                currentToken = BuddhistTypes.LBRACKET;
+            }
+        }
+    }
+
+    // Consumes up to the closing quote or through the end of the line; '\' escapes the next char like the Go lexer
+    private void scanStringLine() {
+        while (currentOffset < endOffset) {
+            char c = buffer.charAt(currentOffset++);
+            if (c == '\\' && currentOffset < endOffset) {
+                c = buffer.charAt(currentOffset++);
+            } else if (c == '"') {
+                state = STATE_DEFAULT;
                 return;
-            case ']':
-                currentOffset++;
-                currentToken = BuddhistTypes.RBRACKET;
+            }
+            if (c == '\n') {
                 return;
-            default:
-                currentOffset++;
-                currentToken = BuddhistTypes.BAD_CHARACTER;
+            }
         }
     }
 
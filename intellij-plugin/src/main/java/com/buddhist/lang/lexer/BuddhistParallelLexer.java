@@ -0,0 +1,103 @@
+package com.buddhist.lang.lexer;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.util.registry.Registry;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Lexes big texts in chunks on the common ForkJoin pool. Chunks are split at
+ * {@link BuddhistLexerSimple#findRestartPoint restart points} and lexed on the guess that each starts outside
+ * comments and strings. Stitching them together in order checks the guess against the state the previous chunk
+ * ended in, and relexes a chunk that an unterminated string or comment actually runs into, so the result is
+ * always exactly what sequential lexing produces.
+ */
+final class BuddhistParallelLexer {
+    static final String THRESHOLD_KEY = "buddhist.lexer.parallel.threshold";
+    private static final int DEFAULT_THRESHOLD = 2 * 1024 * 1024;
+    static final int CHUNK_SIZE = 256 * 1024;
+
+    private BuddhistParallelLexer() {
+    }
+
+    // Texts shorter than two chunks have nothing to split, and a single worker only adds the stitching on top of
+    // sequential lexing. The registry is only read for texts that pass both checks.
+    static boolean isWorthwhile(int textLength) {
+        return textLength >= 2 * CHUNK_SIZE && ForkJoinPool.getCommonPoolParallelism() > 1
+                && textLength >= Registry.intValue(THRESHOLD_KEY, DEFAULT_THRESHOLD);
+    }
+
+    @NotNull
+    static BuddhistTokenStream lex(@NotNull CharSequence text) {
+        return lex(text, CHUNK_SIZE);
+    }
+
+    @NotNull
+    static BuddhistTokenStream lex(@NotNull CharSequence text, int chunkSize) {
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(0);
+        for (int bound = 0; bound < text.length(); ) {
+            bound = BuddhistLexerSimple.findRestartPoint(text, bound + chunkSize, text.length());
+            bounds.add(bound);
+        }
+
+        List<ForkJoinTask<Chunk>> tasks = new ArrayList<>(bounds.size() - 1);
+        for (int i = 0; i + 1 < bounds.size(); i++) {
+            int start = bounds.get(i);
+            int end = bounds.get(i + 1);
+            tasks.add(ForkJoinPool.commonPool().submit(() -> Chunk.lex(text, start, end, BuddhistLexerSimple.STATE_DEFAULT)));
+        }
+        try {
+            List<Chunk> chunks = new ArrayList<>(tasks.size());
+            int state = BuddhistLexerSimple.STATE_DEFAULT;
+            int size = 0;
+            for (int i = 0; i < tasks.size(); i++) {
+                ProgressManager.checkCanceled();
+                Chunk chunk = tasks.get(i).join();
+                if (state != BuddhistLexerSimple.STATE_DEFAULT) {
+                    chunk = Chunk.lex(text, bounds.get(i), bounds.get(i + 1), state);
+                }
+                chunks.add(chunk);
+                state = chunk.endState;
+                size += chunk.tokens.size();
+            }
+            BuddhistTokenStream.Builder builder = new BuddhistTokenStream.Builder(text.length(), size);
+            for (Chunk chunk : chunks) {
+                builder.addAll(chunk.tokens);
+            }
+            return builder.build();
+        } finally {
+            // Only has an effect when cancelled part way
+            for (ForkJoinTask<Chunk> task : tasks) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    private static final class Chunk {
+        final BuddhistTokenStream tokens;
+        // The state the lexer is in at the end of the chunk, i.e. the state the next chunk starts in
+        final int endState;
+
+        private Chunk(@NotNull BuddhistTokenStream tokens, int endState) {
+            this.tokens = tokens;
+            this.endState = endState;
+        }
+
+        @NotNull
+        static Chunk lex(@NotNull CharSequence text, int start, int end, int state) {
+            BuddhistLexerSimple lexer = new BuddhistLexerSimple();
+            lexer.start(text, start, end, state);
+            BuddhistTokenStream.Builder builder = new BuddhistTokenStream.Builder(text.length(), (end - start) / 4);
+            for (; lexer.getTokenType() != null; lexer.advance()) {
+                builder.add(lexer.getTokenStart(), lexer.getTokenEnd(), lexer.getTokenType(), lexer.getState());
+            }
+            // Past the last token the lexer reports the state it ended in
+            return new Chunk(builder.build(), lexer.getState());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.buddhist.lang.lexer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedList;
+
+/**
+ * Token streams of the document versions most recently shown in an editor, so the parser, the words scanner and
+ * the identifier index replay the highlighter's pass of {@link BuddhistLexerSimple} instead of lexing the same
+ * text again. A document's text snapshot is immutable and replaced on every change, so the snapshot itself is the
+ * key, compared by identity. That only means "this document version" for editor snapshots, so only the
+ * highlighting lexer adds entries; everything else just reads them.
+ * <p>
+ * Texts are held weakly and streams softly: a closed file's entry goes away with its text, and a big stream can
+ * be reclaimed under memory pressure without waiting for newer entries to push it out.
+ */
+public final class BuddhistTokenCache {
+    private static final int MAX_ENTRIES = 4;
+
+    // Most recently used first
+    private static final LinkedList<Entry> entries = new LinkedList<>();
+    // Entries whose text has been collected
+    private static final ReferenceQueue<CharSequence> collected = new ReferenceQueue<>();
+
+    private BuddhistTokenCache() {
+    }
+
+    // The cached tokens of text, or null when it isn't a recently highlighted document version. An edit is
+    // spliced into the tokens of the version before it here, on first use.
+    @Nullable
+    public static BuddhistTokenStream get(@NotNull CharSequence text) {
+        Entry entry;
+        synchronized (entries) {
+            entry = find(text);
+        }
+        return entry == null ? null : entry.getTokens(text);
+    }
+
+    // The tokens of an editor's text snapshot, lexing and caching it on a miss, as an edit of previous when that
+    // is cached. Two threads missing at once both lex; the results are equal.
+    @NotNull
+    static BuddhistTokenStream getOrLex(@Nullable CharSequence previous, @NotNull CharSequence text) {
+        BuddhistTokenStream tokens = get(text);
+        if (tokens != null) {
+            return tokens;
+        }
+        Version base;
+        synchronized (entries) {
+            base = findBase(previous);
+        }
+        tokens = base == null ? BuddhistTokenStream.lex(text) : BuddhistTokenStream.splice(base.tokens, base.text, text);
+        add(new Entry(text, new SoftReference<>(tokens), null));
+        return tokens;
+    }
+
+    /**
+     * The tokens of text if it has them already, and null otherwise. A text without an entry is a snapshot the
+     * editor relexes only in part after a change, so it is recorded as an edit of previous, the version the
+     * editor lexed before, and {@link #get} splices its tokens on first use. An edit of an edit that hasn't been
+     * spliced yet is spliced straight from the last version with tokens, so typing costs nothing beyond the
+     * editor's own relexing.
+     */
+    @Nullable
+    static BuddhistTokenStream getOrRecordEdit(@Nullable CharSequence previous, @NotNull CharSequence text) {
+        synchronized (entries) {
+            Entry entry = find(text);
+            if (entry != null) {
+                SoftReference<BuddhistTokenStream> tokens = entry.tokens;
+                return tokens == null ? null : tokens.get();
+            }
+            Version base = findBase(previous);
+            if (base != null) {
+                add(new Entry(text, null, new SoftReference<>(base)));
+            }
+        }
+        return null;
+    }
+
+    // Finds the entry of text and moves it to the front, dropping entries with nothing left on the way
+    @Nullable
+    private static Entry find(@NotNull CharSequence text) {
+        purge();
+        for (Iterator<Entry> iterator = entries.iterator(); iterator.hasNext(); ) {
+            Entry entry = iterator.next();
+            if (entry.isCleared()) {
+                iterator.remove();
+            } else if (entry.get() == text) {
+                iterator.remove();
+                entries.addFirst(entry);
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    // What an edit of previous is spliced from: previous itself, or if it is an edit too, the version it was made to
+    @Nullable
+    private static Version findBase(@Nullable CharSequence previous) {
+        Entry entry = previous == null ? null : find(previous);
+        return entry == null ? null : entry.getBase(previous);
+    }
+
+    private static void add(@NotNull Entry entry) {
+        synchronized (entries) {
+            entries.addFirst(entry);
+            if (entries.size() > MAX_ENTRIES) {
+                entries.removeLast();
+            }
+        }
+    }
+
+    private static void purge() {
+        for (Reference<? extends CharSequence> reference; (reference = collected.poll()) != null; ) {
+            entries.remove(reference);
+        }
+    }
+
+    // A text with its tokens, which an edit of it is spliced from
+    private static final class Version {
+        final CharSequence text;
+        final BuddhistTokenStream tokens;
+
+        Version(@NotNull CharSequence text, @NotNull BuddhistTokenStream tokens) {
+            this.text = text;
+            this.tokens = tokens;
+        }
+    }
+
+    // Either has tokens or is an edit of base, which keeps the older text alive until the edit is spliced
+    private static final class Entry extends WeakReference<CharSequence> {
+        volatile SoftReference<BuddhistTokenStream> tokens;
+        volatile SoftReference<Version> base;
+
+        Entry(@NotNull CharSequence text, @Nullable SoftReference<BuddhistTokenStream> tokens,
+              @Nullable SoftReference<Version> base) {
+            super(text, collected);
+            this.tokens = tokens;
+            this.base = base;
+        }
+
+        boolean isCleared() {
+            SoftReference<BuddhistTokenStream> tokens = this.tokens;
+            SoftReference<Version> base = this.base;
+            return (tokens == null || tokens.get() == null) && (base == null || base.get() == null);
+        }
+
+        @Nullable
+        BuddhistTokenStream getTokens(@NotNull CharSequence text) {
+            SoftReference<BuddhistTokenStream> cached = tokens;
+            BuddhistTokenStream result = cached == null ? null : cached.get();
+            if (result != null) {
+                return result;
+            }
+            SoftReference<Version> edited = base;
+            Version version = edited == null ? null : edited.get();
+            if (version == null) {
+                return null;
+            }
+            result = BuddhistTokenStream.splice(version.tokens, version.text, text);
+            tokens = new SoftReference<>(result);
+            base = null;
+            return result;
+        }
+
+        @Nullable
+        Version getBase(@NotNull CharSequence text) {
+            SoftReference<BuddhistTokenStream> cached = tokens;
+            BuddhistTokenStream result = cached == null ? null : cached.get();
+            if (result != null) {
+                return new Version(text, result);
+            }
+            SoftReference<Version> edited = base;
+            return edited == null ? null : edited.get();
+        }
+    }
+}
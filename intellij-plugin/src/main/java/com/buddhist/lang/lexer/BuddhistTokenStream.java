@@ -0,0 +1,285 @@
+package com.buddhist.lang.lexer;
+
+import com.intellij.lexer.Lexer;
+import com.intellij.lexer.LexerBase;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * An immutable token stream of one text, three ints a token in a single array: the start offset, the end offset,
+ * and the element type index in the low 16 bits with the lexer state the token starts in above them. That is
+ * 12 bytes a token and no per-token objects, so whole big files can be kept lexed: it is what
+ * {@link BuddhistTokenCache} stores, and {@link #createLexer()} replays it wherever a {@link Lexer} is expected.
+ * Tokens needn't be contiguous, so a stream may also hold a filtered selection of another one.
+ */
+public final class BuddhistTokenStream {
+    private static final int INTS_PER_TOKEN = 3;
+
+    private final int[] data;
+    private final int size;
+    private final int textLength;
+
+    private BuddhistTokenStream(int[] data, int size, int textLength) {
+        this.data = data;
+        this.size = size;
+        this.textLength = textLength;
+    }
+
+    // All tokens of text as BuddhistLexerSimple produces them; big texts are lexed in parallel chunks
+    @NotNull
+    public static BuddhistTokenStream lex(@NotNull CharSequence text) {
+        if (BuddhistParallelLexer.isWorthwhile(text.length())) {
+            return BuddhistParallelLexer.lex(text);
+        }
+        return record(new BuddhistLexerSimple(), text);
+    }
+
+    // All tokens lexer produces for text, starting in the default state
+    @NotNull
+    public static BuddhistTokenStream record(@NotNull Lexer lexer, @NotNull CharSequence text) {
+        lexer.start(text, 0, text.length(), BuddhistLexerSimple.STATE_DEFAULT);
+        Builder builder = new Builder(text.length());
+        for (IElementType type; (type = lexer.getTokenType()) != null; lexer.advance()) {
+            builder.add(lexer.getTokenStart(), lexer.getTokenEnd(), type, lexer.getState());
+        }
+        return builder.build();
+    }
+
+    /**
+     * The tokens of text, given those of oldText, an earlier version of it. Only the part between the longest
+     * common prefix and suffix of the two is lexed: from the last restart point in the prefix until a token starts
+     * in the suffix in the state its old counterpart did, after which the old tokens are copied over, moved by
+     * the change in length. The result is what {@link #lex} would return, whatever the edit was.
+     */
+    @NotNull
+    public static BuddhistTokenStream splice(@NotNull BuddhistTokenStream old, @NotNull CharSequence oldText,
+                                             @NotNull CharSequence text) {
+        int length = text.length();
+        int oldLength = oldText.length();
+        int common = Math.min(length, oldLength);
+        int prefix = 0;
+        while (prefix < common && text.charAt(prefix) == oldText.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < common - prefix && text.charAt(length - 1 - suffix) == oldText.charAt(oldLength - 1 - suffix)) {
+            suffix++;
+        }
+
+        int restart = BuddhistLexerSimple.findRestartPointBefore(text, prefix);
+        int index = restart == 0 ? 0 : old.indexOf(restart);
+        // Nothing to keep, e.g. an unrelated text, which lex() may split over several threads
+        if (index < 0 || restart == 0 && suffix == 0) {
+            return lex(text);
+        }
+        Builder builder = new Builder(length, old.size).addAll(old, 0, index, 0);
+        int shift = length - oldLength;
+        BuddhistLexerSimple lexer = new BuddhistLexerSimple();
+        lexer.start(text, restart, length, restart == 0 ? BuddhistLexerSimple.STATE_DEFAULT : old.getState(index));
+        for (IElementType type; (type = lexer.getTokenType()) != null; lexer.advance()) {
+            int start = lexer.getTokenStart();
+            if (start >= length - suffix) {
+                int same = old.indexOf(start - shift, lexer.getState());
+                if (same >= 0) {
+                    return builder.addAll(old, same, old.size, shift).build();
+                }
+            }
+            builder.add(start, lexer.getTokenEnd(), type, lexer.getState());
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Length of the text the stream was lexed from; a replay buffer must have the same length
+    public int getTextLength() {
+        return textLength;
+    }
+
+    public int getStart(int index) {
+        return data[INTS_PER_TOKEN * index];
+    }
+
+    public int getEnd(int index) {
+        return data[INTS_PER_TOKEN * index + 1];
+    }
+
+    public short getTypeIndex(int index) {
+        return (short) data[INTS_PER_TOKEN * index + 2];
+    }
+
+    @NotNull
+    public IElementType getType(int index) {
+        return IElementType.find(getTypeIndex(index));
+    }
+
+    public int getState(int index) {
+        return data[INTS_PER_TOKEN * index + 2] >>> 16;
+    }
+
+    // The token starting at offset in the given state, size() at the end of the text, or -1 when there is none,
+    // i.e. when a lexer started there couldn't be replayed from this stream
+    public int indexOf(int offset, int state) {
+        int index = indexOf(offset);
+        return index >= 0 && (index == size || getState(index) == state) ? index : -1;
+    }
+
+    // The token starting at offset in whatever state, size() at the end of the text, or -1 when there is none
+    public int indexOf(int offset) {
+        if (offset == textLength) {
+            return size;
+        }
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int start = getStart(middle);
+            if (start < offset) {
+                low = middle + 1;
+            } else if (start > offset) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    // A lexer replaying this stream over its text. It can be started wherever indexOf finds a token.
+    @NotNull
+    public Lexer createLexer() {
+        return new ReplayLexer(this);
+    }
+
+    public static final class Builder {
+        private int[] data;
+        private int size;
+        private final int textLength;
+
+        public Builder(int textLength) {
+            // About one token per four chars, whitespace tokens included
+            this(textLength, textLength / 4);
+        }
+
+        public Builder(int textLength, int expectedSize) {
+            this.textLength = textLength;
+            this.data = new int[INTS_PER_TOKEN * Math.max(16, expectedSize)];
+        }
+
+        @NotNull
+        public Builder add(int start, int end, @NotNull IElementType type, int state) {
+            if (INTS_PER_TOKEN * size == data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            int offset = INTS_PER_TOKEN * size++;
+            data[offset] = start;
+            data[offset + 1] = end;
+            data[offset + 2] = state << 16 | type.getIndex() & 0xFFFF;
+            return this;
+        }
+
+        // Appends all tokens of a stream over the same text, e.g. one lexed chunk of it
+        @NotNull
+        public Builder addAll(@NotNull BuddhistTokenStream stream) {
+            return addAll(stream, 0, stream.size, 0);
+        }
+
+        // Appends the tokens from..to of a stream, their offsets moved by shift
+        @NotNull
+        public Builder addAll(@NotNull BuddhistTokenStream stream, int from, int to, int shift) {
+            int length = INTS_PER_TOKEN * (to - from);
+            if (INTS_PER_TOKEN * size + length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, INTS_PER_TOKEN * size + length));
+            }
+            int offset = INTS_PER_TOKEN * size;
+            System.arraycopy(stream.data, INTS_PER_TOKEN * from, data, offset, length);
+            if (shift != 0) {
+                for (int i = offset; i < offset + length; i += INTS_PER_TOKEN) {
+                    data[i] += shift;
+                    data[i + 1] += shift;
+                }
+            }
+            size += to - from;
+            return this;
+        }
+
+        @NotNull
+        public BuddhistTokenStream build() {
+            return new BuddhistTokenStream(Arrays.copyOf(data, INTS_PER_TOKEN * size), size, textLength);
+        }
+    }
+
+    private static final class ReplayLexer extends LexerBase {
+        private final BuddhistTokenStream stream;
+        private CharSequence buffer;
+        private int endOffset;
+        private int index;
+
+        ReplayLexer(@NotNull BuddhistTokenStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState) {
+            if (buffer.length() != stream.textLength) {
+                throw new IllegalArgumentException("Buffer of length " + buffer.length() + " wasn't lexed into this stream");
+            }
+            int start = stream.indexOf(startOffset, initialState);
+            if (start < 0) {
+                throw new IllegalArgumentException("No token starts at " + startOffset + " in state " + initialState);
+            }
+            this.buffer = buffer;
+            this.endOffset = endOffset;
+            this.index = start;
+        }
+
+        // Tokens past the end of the range aren't replayed
+        private boolean hasToken() {
+            return index < stream.size && stream.getEnd(index) <= endOffset;
+        }
+
+        @Override
+        public int getState() {
+            return hasToken() ? stream.getState(index) : BuddhistLexerSimple.STATE_DEFAULT;
+        }
+
+        @Nullable
+        @Override
+        public IElementType getTokenType() {
+            return hasToken() ? stream.getType(index) : null;
+        }
+
+        @Override
+        public int getTokenStart() {
+            return hasToken() ? stream.getStart(index) : endOffset;
+        }
+
+        @Override
+        public int getTokenEnd() {
+            return hasToken() ? stream.getEnd(index) : endOffset;
+        }
+
+        @Override
+        public void advance() {
+            if (hasToken()) {
+                index++;
+            }
+        }
+
+        @NotNull
+        @Override
+        public CharSequence getBufferSequence() {
+            return buffer;
+        }
+
+        @Override
+        public int getBufferEnd() {
+            return endOffset;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.buddhist.lang.navigation;
+
+import com.buddhist.lang.psi.stubs.BuddhistClassIndex;
+import com.intellij.navigation.GotoClassContributor;
+import com.intellij.navigation.NavigationItem;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class BuddhistGotoClassContributor extends BuddhistGotoContributorBase implements GotoClassContributor {
+    public BuddhistGotoClassContributor() {
+        super(BuddhistClassIndex.KEY);
+    }
+
+    // Classes are not namespaced, so the qualified name is the plain name
+    @Nullable
+    @Override
+    public String getQualifiedName(@NotNull NavigationItem item) {
+        return item.getName();
+    }
+
+    @Nullable
+    @Override
+    public String getQualifiedNameSeparator() {
+        return ".";
+    }
+}
@@ -0,0 +1,37 @@
+package com.buddhist.lang.navigation;
+
+import com.buddhist.lang.psi.BuddhistDeclaration;
+import com.intellij.navigation.ChooseByNameContributorEx;
+import com.intellij.navigation.NavigationItem;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import com.intellij.util.Processor;
+import com.intellij.util.indexing.FindSymbolParameters;
+import com.intellij.util.indexing.IdFilter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Feeds the Go to popups straight from a stub index: names are the index keys, and the platform's matcher
+ * applies prefix and camel-hump matching to them. No PSI is loaded until an entry is actually shown.
+ */
+abstract class BuddhistGotoContributorBase implements ChooseByNameContributorEx {
+    private final StubIndexKey<String, BuddhistDeclaration> indexKey;
+
+    BuddhistGotoContributorBase(@NotNull StubIndexKey<String, BuddhistDeclaration> indexKey) {
+        this.indexKey = indexKey;
+    }
+
+    @Override
+    public void processNames(@NotNull Processor<? super String> processor, @NotNull GlobalSearchScope scope, @Nullable IdFilter filter) {
+        StubIndex.getInstance().processAllKeys(indexKey, processor, scope, filter);
+    }
+
+    @Override
+    public void processElementsWithName(@NotNull String name, @NotNull Processor<? super NavigationItem> processor,
+                                        @NotNull FindSymbolParameters parameters) {
+        StubIndex.getInstance().processElements(indexKey, name, parameters.getProject(), parameters.getSearchScope(),
+                parameters.getIdFilter(), BuddhistDeclaration.class, processor::process);
+    }
+}
@@ -0,0 +1,10 @@
+package com.buddhist.lang.navigation;
+
+import com.buddhist.lang.psi.stubs.BuddhistDeclarationIndex;
+
+// Top-level functions, classes and constants, exported or not
+public class BuddhistGotoSymbolContributor extends BuddhistGotoContributorBase {
+    public BuddhistGotoSymbolContributor() {
+        super(BuddhistDeclarationIndex.KEY);
+    }
+}
@@ -0,0 +1,60 @@
+package com.buddhist.lang.parser;
+
+import com.buddhist.lang.BuddhistLanguage;
+import com.buddhist.lang.lexer.BuddhistLexerSimple;
+import com.buddhist.lang.psi.BuddhistTypes;
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.Language;
+import com.intellij.lang.PsiBuilder;
+import com.intellij.lang.PsiBuilderFactory;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IReparseableElementType;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@code {...}} block parsed on demand. An edit inside a block only reparses that block, as long as
+ * its braces are still balanced.
+ */
+public class BuddhistBlockElementType extends IReparseableElementType {
+    public BuddhistBlockElementType(@NotNull @NonNls String debugName) {
+        super(debugName, BuddhistLanguage.INSTANCE);
+    }
+
+    @Override
+    protected ASTNode doParseContents(@NotNull ASTNode chameleon, @NotNull PsiElement psi) {
+        PsiBuilder builder = PsiBuilderFactory.getInstance()
+                .createBuilder(psi.getProject(), chameleon, null, getLanguage(), chameleon.getChars());
+        PsiBuilder.Marker root = builder.mark();
+        new BuddhistParser().parseBlockContents(builder);
+        root.done(this);
+        return builder.getTreeBuilt().getFirstChildNode();
+    }
+
+    @Override
+    public boolean isParsable(@Nullable ASTNode parent, @NotNull CharSequence buffer, @NotNull Language fileLanguage,
+                              @NotNull Project project) {
+        BuddhistLexerSimple lexer = new BuddhistLexerSimple();
+        lexer.start(buffer, 0, buffer.length(), BuddhistLexerSimple.STATE_DEFAULT);
+        if (lexer.getTokenType() != BuddhistTypes.LBRACE) {
+            return false;
+        }
+        int depth = 0;
+        while (lexer.getTokenType() != null) {
+            if (depth == 0 && lexer.getTokenStart() > 0) {
+                return false; // text after the closing brace
+            }
+            IElementType type = lexer.getTokenType();
+            if (type == BuddhistTypes.LBRACE) {
+                depth++;
+            } else if (type == BuddhistTypes.RBRACE) {
+                depth--;
+            }
+            lexer.advance();
+        }
+        return depth == 0;
+    }
+}
@@ -3,32 +3,66 @@ package com.buddhist.lang.parser;
 import com.buddhist.lang.psi.BuddhistTypes;
 import com.intellij.lang.ASTNode;
 import com.intellij.lang.PsiBuilder;
-import com.intellij.lang.PsiBuilderFactory;
+import com.intellij.lang.PsiBuilderUtil;
 import com.intellij.lang.PsiParser;
 import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
 
 public class BuddhistParser implements PsiParser {
+    // Expressions nested deeper than this are not parsed into a tree. Machine-generated files with huge
+    // literals would otherwise overflow the stack; override with -Dbuddhist.parser.maxNestingDepth=N
+    public static final int DEFAULT_MAX_NESTING_DEPTH = Integer.getInteger("buddhist.parser.maxNestingDepth", 256);
+    static final String NESTED_TOO_DEEPLY = "Expression nested too deeply";
+
+    private final int maxNestingDepth;
+    private int nestingDepth;
+
+    public BuddhistParser() {
+        this(DEFAULT_MAX_NESTING_DEPTH);
+    }
+
+    public BuddhistParser(int maxNestingDepth) {
+        this.maxNestingDepth = maxNestingDepth;
+    }
+
     @NotNull
     @Override
     public ASTNode parse(@NotNull IElementType root, @NotNull com.intellij.lang.PsiBuilder builder) {
         PsiBuilder.Marker rootMarker = builder.mark();
         
         while (!builder.eof()) {
-            parseStatement(builder);
+            parseStatementAdvancing(builder);
         }
         
         rootMarker.done(root);
         return builder.getTreeBuilt();
     }
 
+    // Every statement loop goes through here: if a statement parser ever consumes nothing, the current
+    // token is swallowed as an error so the loop can't spin on it.
+    private void parseStatementAdvancing(PsiBuilder builder) {
+        int offset = builder.getCurrentOffset();
+        parseStatement(builder);
+        if (builder.getCurrentOffset() == offset && !builder.eof()) {
+            PsiBuilder.Marker error = builder.mark();
+            builder.advanceLexer();
+            error.error("Unexpected token");
+        }
+    }
+
     private void parseStatement(PsiBuilder builder) {
         IElementType tokenType = builder.getTokenType();
         
-        if (tokenType == BuddhistTypes.LET) {
-            parseLetStatement(builder);
+        if (tokenType == BuddhistTypes.PLACE) {
+            parseVariableStatement(builder, BuddhistTypes.LET_STATEMENT);
+        } else if (tokenType == BuddhistTypes.SET) {
+            parseSetStatement(builder);
         } else if (tokenType == BuddhistTypes.CONST) {
-            parseConstStatement(builder);
+            parseVariableStatement(builder, BuddhistTypes.CONST_DECLARATION);
         } else if (tokenType == BuddhistTypes.RETURN) {
             parseReturnStatement(builder);
         } else if (tokenType == BuddhistTypes.IF) {
@@ -37,46 +71,112 @@ public class BuddhistParser implements PsiParser {
             parseWhileStatement(builder);
         } else if (tokenType == BuddhistTypes.FOR) {
             parseForStatement(builder);
-        } else if (tokenType == BuddhistTypes.FUNCTION) {
+        } else if (tokenType == BuddhistTypes.FUNCTION && builder.lookAhead(1) == BuddhistTypes.IDENTIFIER) {
             parseFunctionStatement(builder);
+        } else if (tokenType == BuddhistTypes.CLASS) {
+            parseClassStatement(builder);
+        } else if (tokenType == BuddhistTypes.EXPORT) {
+            parseExportStatement(builder);
+        } else if (tokenType == BuddhistTypes.IMPORT) {
+            parseImportStatement(builder);
+        } else if (tokenType == BuddhistTypes.THROW) {
+            parseThrowStatement(builder);
+        } else if (tokenType == BuddhistTypes.BREAK || tokenType == BuddhistTypes.CONTINUE) {
+            PsiBuilder.Marker marker = builder.mark();
+            builder.advanceLexer(); // BREAK or CONTINUE
+            if (builder.getTokenType() == BuddhistTypes.SEMICOLON) {
+                builder.advanceLexer(); // ;
+            }
+            marker.done(tokenType == BuddhistTypes.BREAK ? BuddhistTypes.BREAK_STATEMENT : BuddhistTypes.CONTINUE_STATEMENT);
+        } else if (tokenType == BuddhistTypes.SEMICOLON) {
+            builder.advanceLexer(); // empty statement
         } else {
-            parseExpression(builder);
+            PsiBuilder.Marker marker = builder.mark();
+            if (parseExpression(builder) == null) {
+                marker.drop();
+                recoverToNextStatement(builder);
+                return;
+            }
             if (builder.getTokenType() == BuddhistTypes.SEMICOLON) {
                 builder.advanceLexer();
             }
+            marker.done(BuddhistTypes.EXPRESSION_STATEMENT);
         }
     }
 
-    private void parseLetStatement(PsiBuilder builder) {
+    // Skips a token that can't start a statement plus everything up to the next sync point: a statement
+    // keyword, a closing brace or just past a semicolon. Always consumes at least one token.
+    private static void recoverToNextStatement(PsiBuilder builder) {
+        PsiBuilder.Marker error = builder.mark();
+        builder.advanceLexer();
+        while (!builder.eof() && !STATEMENT_RECOVERY.contains(builder.getTokenType())) {
+            builder.advanceLexer();
+        }
+        if (builder.getTokenType() == BuddhistTypes.SEMICOLON) {
+            builder.advanceLexer();
+        }
+        error.error("Statement expected");
+    }
+
+    // place/const name = value; also class fields
+    private void parseVariableStatement(PsiBuilder builder, IElementType type) {
         PsiBuilder.Marker marker = builder.mark();
-        builder.advanceLexer(); // LET
+        builder.advanceLexer(); // PLACE or CONST
         if (builder.getTokenType() == BuddhistTypes.IDENTIFIER) {
             builder.advanceLexer(); // identifier
+        } else {
+            builder.error("Variable name expected");
         }
         if (builder.getTokenType() == BuddhistTypes.ASSIGN) {
             builder.advanceLexer(); // =
-            parseExpression(builder);
+            if (parseExpression(builder) == null) {
+                builder.error("Expression expected");
+            }
         }
         if (builder.getTokenType() == BuddhistTypes.SEMICOLON) {
             builder.advanceLexer(); // ;
         }
-        marker.done(BuddhistTypes.LET);
+        marker.done(type);
     }
 
-    private void parseConstStatement(PsiBuilder builder) {
+    // set name = value; assigns an existing variable, so the name is a reference
+    private void parseSetStatement(PsiBuilder builder) {
         PsiBuilder.Marker marker = builder.mark();
-        builder.advanceLexer(); // CONST
+        builder.advanceLexer(); // SET
         if (builder.getTokenType() == BuddhistTypes.IDENTIFIER) {
-            builder.advanceLexer(); // identifier
+            PsiBuilder.Marker name = builder.mark();
+            builder.advanceLexer();
+            name.done(BuddhistTypes.REFERENCE_EXPRESSION);
+        } else {
+            builder.error("Variable name expected");
         }
         if (builder.getTokenType() == BuddhistTypes.ASSIGN) {
             builder.advanceLexer(); // =
-            parseExpression(builder);
+            if (parseExpression(builder) == null) {
+                builder.error("Expression expected");
+            }
+        } else {
+            builder.error("'=' expected");
+        }
+        if (builder.getTokenType() == BuddhistTypes.SEMICOLON) {
+            builder.advanceLexer(); // ;
+        }
+        marker.done(BuddhistTypes.SET_STATEMENT);
+    }
+
+    // throw; or throw value;
+    private void parseThrowStatement(PsiBuilder builder) {
+        PsiBuilder.Marker marker = builder.mark();
+        builder.advanceLexer(); // THROW
+        if (builder.getTokenType() != BuddhistTypes.SEMICOLON) {
+            if (parseExpression(builder) == null) {
+                builder.error("Expression expected");
+            }
         }
         if (builder.getTokenType() == BuddhistTypes.SEMICOLON) {
             builder.advanceLexer(); // ;
         }
-        marker.done(BuddhistTypes.CONST);
+        marker.done(BuddhistTypes.THROW_STATEMENT);
     }
 
     private void parseReturnStatement(PsiBuilder builder) {
@@ -86,18 +186,16 @@ public class BuddhistParser implements PsiParser {
         if (builder.getTokenType() == BuddhistTypes.SEMICOLON) {
             builder.advanceLexer(); // ;
         }
-        marker.done(BuddhistTypes.RETURN);
+        marker.done(BuddhistTypes.RETURN_STATEMENT);
     }
 
+    // if [not] (condition) [then] { ... } [else { ... }]
     private void parseIfStatement(PsiBuilder builder) {
         PsiBuilder.Marker marker = builder.mark();
         builder.advanceLexer(); // IF
-        if (builder.getTokenType() == BuddhistTypes.LPAREN) {
-            builder.advanceLexer(); // (
-            parseExpression(builder);
-            if (builder.getTokenType() == BuddhistTypes.RPAREN) {
-                builder.advanceLexer(); // )
-            }
+        parseCondition(builder);
+        if (builder.getTokenType() == BuddhistTypes.THEN) {
+            builder.advanceLexer(); // THEN
         }
         if (builder.getTokenType() == BuddhistTypes.LBRACE) {
             parseBlock(builder);
@@ -108,12 +206,33 @@ public class BuddhistParser implements PsiParser {
                 parseBlock(builder);
             }
         }
-        marker.done(BuddhistTypes.IF);
+        marker.done(BuddhistTypes.IF_STATEMENT);
     }
 
+    // while [not] (condition) { ... } [until (condition)]
     private void parseWhileStatement(PsiBuilder builder) {
         PsiBuilder.Marker marker = builder.mark();
         builder.advanceLexer(); // WHILE
+        parseCondition(builder);
+        if (builder.getTokenType() == BuddhistTypes.LBRACE) {
+            parseBlock(builder);
+        }
+        if (builder.getTokenType() == BuddhistTypes.UNTIL) {
+            builder.advanceLexer(); // UNTIL
+            if (builder.getTokenType() == BuddhistTypes.LPAREN) {
+                parseCondition(builder);
+            } else {
+                builder.error("'(' expected");
+            }
+        }
+        marker.done(BuddhistTypes.WHILE_STATEMENT);
+    }
+
+    // [not] (expression); the not negates the condition, as in the Go parser
+    private void parseCondition(PsiBuilder builder) {
+        if (builder.getTokenType() == BuddhistTypes.NOT) {
+            builder.advanceLexer(); // NOT
+        }
         if (builder.getTokenType() == BuddhistTypes.LPAREN) {
             builder.advanceLexer(); // (
             parseExpression(builder);
@@ -121,10 +240,6 @@ public class BuddhistParser implements PsiParser {
                 builder.advanceLexer(); // )
             }
         }
-        if (builder.getTokenType() == BuddhistTypes.LBRACE) {
-            parseBlock(builder);
-        }
-        marker.done(BuddhistTypes.WHILE);
     }
 
     private void parseForStatement(PsiBuilder builder) {
@@ -132,7 +247,7 @@ public class BuddhistParser implements PsiParser {
         builder.advanceLexer(); // FOR
         if (builder.getTokenType() == BuddhistTypes.LPAREN) {
             builder.advanceLexer(); // (
-            parseStatement(builder); // init
+            parseForInit(builder);
             parseExpression(builder); // condition
             if (builder.getTokenType() == BuddhistTypes.SEMICOLON) {
                 builder.advanceLexer(); // ;
@@ -145,7 +260,33 @@ public class BuddhistParser implements PsiParser {
         if (builder.getTokenType() == BuddhistTypes.LBRACE) {
             parseBlock(builder);
         }
-        marker.done(BuddhistTypes.FOR);
+        marker.done(BuddhistTypes.FOR_STATEMENT);
+    }
+
+    // A variable, set or expression statement. Other statements aren't allowed here, so for (for (for (...
+    // can't recurse once per level.
+    private void parseForInit(PsiBuilder builder) {
+        IElementType tokenType = builder.getTokenType();
+        if (tokenType == BuddhistTypes.PLACE) {
+            parseVariableStatement(builder, BuddhistTypes.LET_STATEMENT);
+        } else if (tokenType == BuddhistTypes.CONST) {
+            parseVariableStatement(builder, BuddhistTypes.CONST_DECLARATION);
+        } else if (tokenType == BuddhistTypes.SET) {
+            parseSetStatement(builder);
+        } else if (tokenType == BuddhistTypes.SEMICOLON) {
+            builder.advanceLexer(); // empty init
+        } else {
+            PsiBuilder.Marker marker = builder.mark();
+            if (parseExpression(builder) == null) {
+                marker.drop();
+                builder.error("Initializer expected");
+                return;
+            }
+            if (builder.getTokenType() == BuddhistTypes.SEMICOLON) {
+                builder.advanceLexer();
+            }
+            marker.done(BuddhistTypes.EXPRESSION_STATEMENT);
+        }
     }
 
     private void parseFunctionStatement(PsiBuilder builder) {
@@ -155,98 +296,522 @@ public class BuddhistParser implements PsiParser {
             builder.advanceLexer(); // identifier
         }
         if (builder.getTokenType() == BuddhistTypes.LPAREN) {
-            builder.advanceLexer(); // (
             parseParameters(builder);
-            if (builder.getTokenType() == BuddhistTypes.RPAREN) {
-                builder.advanceLexer(); // )
-            }
         }
         if (builder.getTokenType() == BuddhistTypes.LBRACE) {
             parseBlock(builder);
         }
-        marker.done(BuddhistTypes.FUNCTION);
+        marker.done(BuddhistTypes.FUNCTION_DECLARATION);
+    }
+
+    // class Name [extends Parent] { members }
+    private void parseClassStatement(PsiBuilder builder) {
+        PsiBuilder.Marker marker = builder.mark();
+        builder.advanceLexer(); // CLASS
+        expectToken(builder, BuddhistTypes.IDENTIFIER, "Class name expected");
+        if (builder.getTokenType() == BuddhistTypes.EXTENDS) {
+            builder.advanceLexer(); // EXTENDS
+            if (builder.getTokenType() == BuddhistTypes.IDENTIFIER) {
+                PsiBuilder.Marker parent = builder.mark();
+                builder.advanceLexer();
+                parent.done(BuddhistTypes.REFERENCE_EXPRESSION);
+            } else {
+                builder.error("Parent class name expected");
+            }
+        }
+        if (builder.getTokenType() == BuddhistTypes.LBRACE) {
+            parseClassBody(builder);
+        } else {
+            builder.error("'{' expected");
+        }
+        marker.done(BuddhistTypes.CLASS_DECLARATION);
+    }
+
+    // The body itself is parsed eagerly so fields and methods are visible without expanding anything;
+    // method bodies stay lazy like every other block. Since a nested class recurses into here, class bodies
+    // count against the same nesting limit as expressions.
+    private void parseClassBody(PsiBuilder builder) {
+        if (nestingDepth >= maxNestingDepth) {
+            skipNestedTooDeeply(builder);
+            return;
+        }
+        nestingDepth++;
+        PsiBuilder.Marker marker = builder.mark();
+        builder.advanceLexer(); // {
+        while (builder.getTokenType() != BuddhistTypes.RBRACE && !builder.eof()) {
+            if (builder.getTokenType() == BuddhistTypes.PLACE) {
+                parseVariableStatement(builder, BuddhistTypes.FIELD_DECLARATION);
+            } else {
+                parseStatementAdvancing(builder);
+            }
+        }
+        expectToken(builder, BuddhistTypes.RBRACE, "'}' expected");
+        marker.done(BuddhistTypes.CLASS_BODY);
+        nestingDepth--;
+    }
+
+    private void parseExportStatement(PsiBuilder builder) {
+        PsiBuilder.Marker marker = builder.mark();
+        builder.advanceLexer(); // EXPORT
+        IElementType tokenType = builder.getTokenType();
+        if (tokenType == BuddhistTypes.FUNCTION || tokenType == BuddhistTypes.CLASS || tokenType == BuddhistTypes.CONST) {
+            parseStatement(builder);
+        } else if (tokenType == BuddhistTypes.LBRACE) {
+            parseNameList(builder, BuddhistTypes.EXPORT_SPECIFIER);
+            if (builder.getTokenType() == BuddhistTypes.SEMICOLON) {
+                builder.advanceLexer(); // ;
+            }
+        } else {
+            builder.error("fn, class, const or '{' expected");
+        }
+        marker.done(BuddhistTypes.EXPORT_DECLARATION);
+    }
+
+    // import {a, b} from "path"; or import "path";
+    private void parseImportStatement(PsiBuilder builder) {
+        PsiBuilder.Marker marker = builder.mark();
+        builder.advanceLexer(); // IMPORT
+        if (builder.getTokenType() == BuddhistTypes.LBRACE) {
+            parseNameList(builder, BuddhistTypes.IMPORT_SPECIFIER);
+            expectToken(builder, BuddhistTypes.FROM, "'from' expected");
+        }
+        expectToken(builder, BuddhistTypes.STRING, "Module path expected");
+        if (builder.getTokenType() == BuddhistTypes.SEMICOLON) {
+            builder.advanceLexer(); // ;
+        }
+        marker.done(BuddhistTypes.IMPORT_DECLARATION);
+    }
+
+    // { name, name, ... } of import or export clauses, each name wrapped as specifierType
+    private void parseNameList(PsiBuilder builder, IElementType specifierType) {
+        builder.advanceLexer(); // {
+        while (builder.getTokenType() == BuddhistTypes.IDENTIFIER) {
+            PsiBuilder.Marker specifier = builder.mark();
+            builder.advanceLexer();
+            specifier.done(specifierType);
+            if (builder.getTokenType() == BuddhistTypes.COMMA) {
+                builder.advanceLexer();
+            } else {
+                break;
+            }
+        }
+        expectToken(builder, BuddhistTypes.RBRACE, "'}' expected");
     }
 
     private void parseParameters(PsiBuilder builder) {
+        PsiBuilder.Marker marker = builder.mark();
+        builder.advanceLexer(); // (
         while (builder.getTokenType() == BuddhistTypes.IDENTIFIER) {
+            PsiBuilder.Marker parameter = builder.mark();
             builder.advanceLexer();
+            parameter.done(BuddhistTypes.PARAMETER);
             if (builder.getTokenType() == BuddhistTypes.COMMA) {
                 builder.advanceLexer();
             } else {
                 break;
             }
         }
+        if (builder.getTokenType() == BuddhistTypes.RPAREN) {
+            builder.advanceLexer(); // )
+        }
+        marker.done(BuddhistTypes.PARAMETER_LIST);
     }
 
+    // Blocks are skipped by brace matching here and parsed lazily by BuddhistBlockElementType
     private void parseBlock(PsiBuilder builder) {
-        PsiBuilder.Marker marker = builder.mark();
+        PsiBuilderUtil.parseBlockLazy(builder, BuddhistTypes.LBRACE, BuddhistTypes.RBRACE, BuddhistTypes.BLOCK);
+    }
+
+    public void parseBlockContents(PsiBuilder builder) {
         builder.advanceLexer(); // {
         while (builder.getTokenType() != BuddhistTypes.RBRACE && !builder.eof()) {
-            parseStatement(builder);
+            parseStatementAdvancing(builder);
         }
         if (builder.getTokenType() == BuddhistTypes.RBRACE) {
             builder.advanceLexer(); // }
         }
-        marker.done(BuddhistTypes.LBRACE);
+        if (!builder.eof()) {
+            PsiBuilder.Marker error = builder.mark();
+            while (!builder.eof()) {
+                builder.advanceLexer();
+            }
+            error.error("Unexpected tokens after block");
+        }
     }
 
-    private void parseExpression(PsiBuilder builder) {
-        parsePrimaryExpression(builder);
-        while (isBinaryOperator(builder.getTokenType())) {
-            PsiBuilder.Marker marker = builder.mark();
+    // Binary operators by precedence level, lowest first; the same table as the Go parser
+    private static final TokenSet[] BINARY_OPERATORS = {
+            TokenSet.create(BuddhistTypes.ASSIGN, BuddhistTypes.SEND),
+            TokenSet.create(BuddhistTypes.OR),
+            TokenSet.create(BuddhistTypes.AND),
+            TokenSet.create(BuddhistTypes.EQ, BuddhistTypes.NOT_EQ),
+            TokenSet.create(BuddhistTypes.LT, BuddhistTypes.GT, BuddhistTypes.LT_EQ, BuddhistTypes.GT_EQ),
+            TokenSet.create(BuddhistTypes.PLUS, BuddhistTypes.MINUS),
+            TokenSet.create(BuddhistTypes.ASTERISK, BuddhistTypes.SLASH, BuddhistTypes.MODULO),
+    };
+    private static final int ASSIGNMENT_PRECEDENCE = 0;
+    private static final int NOT_AN_OPERATOR = -1;
+
+    private static final TokenSet STATEMENT_STARTERS = TokenSet.create(
+            BuddhistTypes.PLACE, BuddhistTypes.SET, BuddhistTypes.CONST, BuddhistTypes.RETURN, BuddhistTypes.IF, BuddhistTypes.WHILE,
+            BuddhistTypes.FOR, BuddhistTypes.FUNCTION, BuddhistTypes.CLASS, BuddhistTypes.EXPORT, BuddhistTypes.IMPORT,
+            BuddhistTypes.TRY, BuddhistTypes.THROW, BuddhistTypes.BREAK, BuddhistTypes.CONTINUE
+    );
+    private static final TokenSet STATEMENT_RECOVERY = TokenSet.orSet(
+            STATEMENT_STARTERS, TokenSet.create(BuddhistTypes.SEMICOLON, BuddhistTypes.RBRACE)
+    );
+    private static final TokenSet PREFIX_OPERATORS = TokenSet.create(BuddhistTypes.BANG, BuddhistTypes.NOT, BuddhistTypes.MINUS, BuddhistTypes.SEND);
+    private static final TokenSet POSTFIX_STARTERS = TokenSet.create(BuddhistTypes.LPAREN, BuddhistTypes.LBRACKET, BuddhistTypes.DOT);
+    private static final TokenSet OPENING_BRACKETS = TokenSet.create(BuddhistTypes.LPAREN, BuddhistTypes.LBRACKET, BuddhistTypes.LBRACE);
+    private static final TokenSet CLOSING_BRACKETS = TokenSet.create(BuddhistTypes.RPAREN, BuddhistTypes.RBRACKET, BuddhistTypes.RBRACE);
+
+    private static final TokenSet LITERALS = TokenSet.create(
+            BuddhistTypes.INT, BuddhistTypes.FLOAT, BuddhistTypes.STRING,
+            BuddhistTypes.TRUE, BuddhistTypes.FALSE, BuddhistTypes.NULL
+    );
+
+    @Nullable
+    private PsiBuilder.Marker parseExpression(PsiBuilder builder) {
+        if (nestingDepth >= maxNestingDepth) {
+            return skipNestedTooDeeply(builder);
+        }
+        nestingDepth++;
+        PsiBuilder.Marker expression = parseAssignmentExpression(builder);
+        nestingDepth--;
+        return expression;
+    }
+
+    // Assignment and send are right-associative: a = b = c is a = (b = c). The open markers of the chain
+    // are kept on an explicit stack instead of recursing per operator, and links past the nesting limit
+    // are left unwrapped inside one error node.
+    @Nullable
+    private PsiBuilder.Marker parseAssignmentExpression(PsiBuilder builder) {
+        PsiBuilder.Marker left = parseBinaryExpression(builder, ASSIGNMENT_PRECEDENCE + 1);
+        if (left == null || binaryPrecedence(builder.getTokenType()) != ASSIGNMENT_PRECEDENCE) {
+            return left;
+        }
+        PsiBuilder.Marker first = left;
+        ArrayDeque<PsiBuilder.Marker> open = new ArrayDeque<>();
+        ArrayDeque<IElementType> operators = new ArrayDeque<>();
+        PsiBuilder.Marker tooDeep = null;
+        while (binaryPrecedence(builder.getTokenType()) == ASSIGNMENT_PRECEDENCE) {
+            if (nestingDepth + open.size() < maxNestingDepth) {
+                open.push(left.precede());
+                operators.push(builder.getTokenType());
+            } else if (tooDeep == null) {
+                tooDeep = builder.mark();
+            }
+            builder.advanceLexer(); // = or <-
+            left = parseBinaryExpression(builder, ASSIGNMENT_PRECEDENCE + 1);
+            if (left == null) {
+                builder.error("Expression expected");
+                break;
+            }
+        }
+        if (tooDeep != null) {
+            tooDeep.error(NESTED_TOO_DEEPLY);
+        }
+        PsiBuilder.Marker expression = first;
+        while (!open.isEmpty()) {
+            expression = open.pop();
+            expression.done(operators.pop() == BuddhistTypes.SEND ? BuddhistTypes.SEND_EXPRESSION : BuddhistTypes.ASSIGNMENT_EXPRESSION);
+        }
+        return expression;
+    }
+
+    // Precedence climbing. A run of operators of the same precedence becomes one n-ary node
+    // (a + b - c + d is a single BINARY_EXPRESSION evaluated left to right), so long concatenations
+    // stay flat and each operator costs at most one marker. Recursion is bounded by the number of levels.
+    @Nullable
+    private PsiBuilder.Marker parseBinaryExpression(PsiBuilder builder, int minPrecedence) {
+        PsiBuilder.Marker left = parseUnaryExpression(builder);
+        if (left == null) {
+            return null;
+        }
+        int precedence = binaryPrecedence(builder.getTokenType());
+        while (precedence >= minPrecedence) {
+            PsiBuilder.Marker expression = left.precede();
+            do {
+                builder.advanceLexer(); // operator
+                if (parseBinaryExpression(builder, precedence + 1) == null) {
+                    builder.error("Expression expected");
+                    break;
+                }
+            } while (binaryPrecedence(builder.getTokenType()) == precedence);
+            expression.done(BuddhistTypes.BINARY_EXPRESSION);
+            left = expression;
+            precedence = binaryPrecedence(builder.getTokenType());
+        }
+        return left;
+    }
+
+    private static int binaryPrecedence(@Nullable IElementType tokenType) {
+        for (int i = 0; i < BINARY_OPERATORS.length; i++) {
+            if (BINARY_OPERATORS[i].contains(tokenType)) {
+                return i;
+            }
+        }
+        return NOT_AN_OPERATOR;
+    }
+
+    // Prefix operators are collected on an explicit stack, so !!!!x doesn't recurse per operator
+    @Nullable
+    private PsiBuilder.Marker parseUnaryExpression(PsiBuilder builder) {
+        ArrayDeque<PsiBuilder.Marker> open = new ArrayDeque<>();
+        ArrayDeque<IElementType> operators = new ArrayDeque<>();
+        PsiBuilder.Marker tooDeep = null;
+        while (PREFIX_OPERATORS.contains(builder.getTokenType())) {
+            if (nestingDepth + open.size() < maxNestingDepth) {
+                open.push(builder.mark());
+                operators.push(builder.getTokenType());
+            } else if (tooDeep == null) {
+                tooDeep = builder.mark();
+            }
+            builder.advanceLexer(); // ! not - or <- (receive)
+        }
+        if (tooDeep != null) {
+            tooDeep.error(NESTED_TOO_DEEPLY);
+        }
+        PsiBuilder.Marker expression = parsePrimaryExpression(builder);
+        if (expression != null) {
+            expression = parsePostfixExpressions(builder, expression, nestingDepth + open.size());
+        } else if (!open.isEmpty()) {
+            builder.error("Expression expected");
+        }
+        while (!open.isEmpty()) {
+            expression = open.pop();
+            expression.done(operators.pop() == BuddhistTypes.SEND ? BuddhistTypes.RECEIVE_EXPRESSION : BuddhistTypes.PREFIX_EXPRESSION);
+        }
+        return expression;
+    }
+
+    // Calls, indexing and member access: f(x), a[i], obj.field
+    private PsiBuilder.Marker parsePostfixExpressions(PsiBuilder builder, PsiBuilder.Marker expression, int depth) {
+        PsiBuilder.Marker tooDeep = null;
+        while (POSTFIX_STARTERS.contains(builder.getTokenType())) {
+            PsiBuilder.Marker postfix = null;
+            if (depth < maxNestingDepth) {
+                postfix = expression.precede();
+                depth++;
+            } else if (tooDeep == null) {
+                tooDeep = builder.mark();
+            }
+            IElementType type = parsePostfixSuffix(builder);
+            if (postfix != null) {
+                postfix.done(type);
+                expression = postfix;
+            }
+        }
+        if (tooDeep != null) {
+            tooDeep.error(NESTED_TOO_DEEPLY);
+        }
+        return expression;
+    }
+
+    private IElementType parsePostfixSuffix(PsiBuilder builder) {
+        IElementType tokenType = builder.getTokenType();
+        if (tokenType == BuddhistTypes.LPAREN) {
+            parseArguments(builder);
+            return BuddhistTypes.CALL_EXPRESSION;
+        }
+        builder.advanceLexer(); // [ or .
+        if (tokenType == BuddhistTypes.LBRACKET) {
+            parseExpression(builder);
+            expectToken(builder, BuddhistTypes.RBRACKET, "']' expected");
+            return BuddhistTypes.INDEX_EXPRESSION;
+        }
+        expectToken(builder, BuddhistTypes.IDENTIFIER, "Property name expected");
+        return BuddhistTypes.MEMBER_EXPRESSION;
+    }
+
+    // Past the nesting limit the rest of the enclosing bracket group becomes one flat error node.
+    // Brackets are only counted here, never recursed into.
+    @Nullable
+    private static PsiBuilder.Marker skipNestedTooDeeply(PsiBuilder builder) {
+        if (builder.eof() || CLOSING_BRACKETS.contains(builder.getTokenType())) {
+            return null;
+        }
+        PsiBuilder.Marker marker = builder.mark();
+        int balance = 0;
+        while (!builder.eof()) {
+            IElementType tokenType = builder.getTokenType();
+            if (OPENING_BRACKETS.contains(tokenType)) {
+                balance++;
+            } else if (CLOSING_BRACKETS.contains(tokenType)) {
+                if (balance == 0) {
+                    break;
+                }
+                balance--;
+            }
             builder.advanceLexer();
-            parsePrimaryExpression(builder);
-            marker.done(BuddhistTypes.PLUS); // Use a generic expression type
         }
+        marker.error(NESTED_TOO_DEEPLY);
+        return marker;
     }
 
-    private void parsePrimaryExpression(PsiBuilder builder) {
+    private void parseArguments(PsiBuilder builder) {
+        PsiBuilder.Marker marker = builder.mark();
+        builder.advanceLexer(); // (
+        while (builder.getTokenType() != BuddhistTypes.RPAREN && !builder.eof()) {
+            if (parseExpression(builder) == null) {
+                builder.error("Expression expected");
+                break;
+            }
+            if (builder.getTokenType() == BuddhistTypes.COMMA) {
+                builder.advanceLexer();
+            } else {
+                break;
+            }
+        }
+        expectToken(builder, BuddhistTypes.RPAREN, "')' expected");
+        marker.done(BuddhistTypes.ARGUMENT_LIST);
+    }
+
+    @Nullable
+    private PsiBuilder.Marker parsePrimaryExpression(PsiBuilder builder) {
         IElementType tokenType = builder.getTokenType();
-        if (tokenType == BuddhistTypes.IDENTIFIER ||
-            tokenType == BuddhistTypes.INT ||
-            tokenType == BuddhistTypes.FLOAT ||
-            tokenType == BuddhistTypes.STRING ||
-            tokenType == BuddhistTypes.TRUE ||
-            tokenType == BuddhistTypes.FALSE ||
-            tokenType == BuddhistTypes.NULL) {
+        if (tokenType == BuddhistTypes.IDENTIFIER) {
+            PsiBuilder.Marker marker = builder.mark();
+            builder.advanceLexer();
+            marker.done(BuddhistTypes.REFERENCE_EXPRESSION);
+            return marker;
+        } else if (LITERALS.contains(tokenType)) {
+            PsiBuilder.Marker marker = builder.mark();
+            builder.advanceLexer();
+            marker.done(BuddhistTypes.LITERAL_EXPRESSION);
+            return marker;
+        } else if (tokenType == BuddhistTypes.THIS || tokenType == BuddhistTypes.SUPER) {
+            PsiBuilder.Marker marker = builder.mark();
             builder.advanceLexer();
+            marker.done(tokenType == BuddhistTypes.THIS ? BuddhistTypes.THIS_EXPRESSION : BuddhistTypes.SUPER_EXPRESSION);
+            return marker;
         } else if (tokenType == BuddhistTypes.LPAREN) {
+            PsiBuilder.Marker marker = builder.mark();
             builder.advanceLexer(); // (
             parseExpression(builder);
-            if (builder.getTokenType() == BuddhistTypes.RPAREN) {
-                builder.advanceLexer(); // )
-            }
+            expectToken(builder, BuddhistTypes.RPAREN, "')' expected");
+            marker.done(BuddhistTypes.PARENTHESIZED_EXPRESSION);
+            return marker;
         } else if (tokenType == BuddhistTypes.LBRACKET) {
-            parseArray(builder);
+            return parseArray(builder);
         } else if (tokenType == BuddhistTypes.LBRACE) {
-            parseObject(builder);
+            return parseObject(builder);
+        } else if (tokenType == BuddhistTypes.FUNCTION) {
+            return parseFunctionLiteral(builder);
+        } else if (tokenType == BuddhistTypes.SPAWN) {
+            PsiBuilder.Marker marker = builder.mark();
+            builder.advanceLexer(); // SPAWN
+            if (parseExpression(builder) == null) {
+                builder.error("Expression expected");
+            }
+            marker.done(BuddhistTypes.SPAWN_EXPRESSION);
+            return marker;
+        } else if (tokenType == BuddhistTypes.CHANNEL) {
+            return parseChannel(builder);
+        } else if (tokenType == BuddhistTypes.TRY) {
+            return parseTry(builder);
         }
+        return null;
     }
 
-    private void parseArray(PsiBuilder builder) {
+    // try { } [catch [(e)] { }] [finally { }]; an expression like in the Go parser
+    private PsiBuilder.Marker parseTry(PsiBuilder builder) {
+        PsiBuilder.Marker marker = builder.mark();
+        builder.advanceLexer(); // TRY
+        parseRequiredBlock(builder);
+        if (builder.getTokenType() == BuddhistTypes.CATCH) {
+            PsiBuilder.Marker clause = builder.mark();
+            builder.advanceLexer(); // CATCH
+            if (builder.getTokenType() == BuddhistTypes.LPAREN) {
+                builder.advanceLexer(); // (
+                if (builder.getTokenType() == BuddhistTypes.IDENTIFIER) {
+                    PsiBuilder.Marker parameter = builder.mark();
+                    builder.advanceLexer();
+                    parameter.done(BuddhistTypes.PARAMETER);
+                } else {
+                    builder.error("Identifier expected");
+                }
+                expectToken(builder, BuddhistTypes.RPAREN, "')' expected");
+            }
+            parseRequiredBlock(builder);
+            clause.done(BuddhistTypes.CATCH_CLAUSE);
+        }
+        if (builder.getTokenType() == BuddhistTypes.FINALLY) {
+            PsiBuilder.Marker clause = builder.mark();
+            builder.advanceLexer(); // FINALLY
+            parseRequiredBlock(builder);
+            clause.done(BuddhistTypes.FINALLY_CLAUSE);
+        }
+        marker.done(BuddhistTypes.TRY_EXPRESSION);
+        return marker;
+    }
+
+    private void parseRequiredBlock(PsiBuilder builder) {
+        if (builder.getTokenType() == BuddhistTypes.LBRACE) {
+            parseBlock(builder);
+        } else {
+            builder.error("'{' expected");
+        }
+    }
+
+    // channel or channel(bufferSize)
+    private PsiBuilder.Marker parseChannel(PsiBuilder builder) {
+        PsiBuilder.Marker marker = builder.mark();
+        builder.advanceLexer(); // CHANNEL
+        if (builder.getTokenType() == BuddhistTypes.LPAREN) {
+            builder.advanceLexer(); // (
+            if (parseExpression(builder) == null) {
+                builder.error("Buffer size expected");
+            }
+            expectToken(builder, BuddhistTypes.RPAREN, "')' expected");
+        }
+        marker.done(BuddhistTypes.CHANNEL_EXPRESSION);
+        return marker;
+    }
+
+    // fn(a, b) { ... } used as a value; the name is optional like in the Go parser
+    private PsiBuilder.Marker parseFunctionLiteral(PsiBuilder builder) {
+        PsiBuilder.Marker marker = builder.mark();
+        builder.advanceLexer(); // FUNCTION
+        if (builder.getTokenType() == BuddhistTypes.IDENTIFIER) {
+            builder.advanceLexer(); // identifier
+        }
+        if (builder.getTokenType() == BuddhistTypes.LPAREN) {
+            parseParameters(builder);
+        }
+        if (builder.getTokenType() == BuddhistTypes.LBRACE) {
+            parseBlock(builder);
+        }
+        marker.done(BuddhistTypes.FUNCTION_LITERAL);
+        return marker;
+    }
+
+    // [a, b] or PHP-style [key => value, ...]
+    private PsiBuilder.Marker parseArray(PsiBuilder builder) {
         PsiBuilder.Marker marker = builder.mark();
         builder.advanceLexer(); // [
         while (builder.getTokenType() != BuddhistTypes.RBRACKET && !builder.eof()) {
             parseExpression(builder);
+            if (builder.getTokenType() == BuddhistTypes.ARROW) {
+                builder.advanceLexer(); // =>
+                parseExpression(builder);
+            }
             if (builder.getTokenType() == BuddhistTypes.COMMA) {
                 builder.advanceLexer();
             } else {
                 break;
             }
         }
-        if (builder.getTokenType() == BuddhistTypes.RBRACKET) {
-            builder.advanceLexer(); // ]
-        }
-        marker.done(BuddhistTypes.LBRACKET);
+        expectToken(builder, BuddhistTypes.RBRACKET, "']' expected");
+        marker.done(BuddhistTypes.ARRAY_LITERAL);
+        return marker;
     }
 
-    private void parseObject(PsiBuilder builder) {
+    private PsiBuilder.Marker parseObject(PsiBuilder builder) {
         PsiBuilder.Marker marker = builder.mark();
         builder.advanceLexer(); // {
         while (builder.getTokenType() != BuddhistTypes.RBRACE && !builder.eof()) {
-            if (builder.getTokenType() == BuddhistTypes.STRING) {
-                builder.advanceLexer(); // key
-            }
+            parseExpression(builder); // key
             if (builder.getTokenType() == BuddhistTypes.COLON || builder.getTokenType() == BuddhistTypes.ARROW) {
                 builder.advanceLexer(); // : or =>
             }
@@ -257,25 +822,16 @@ public class BuddhistParser implements PsiParser {
                 break;
             }
         }
-        if (builder.getTokenType() == BuddhistTypes.RBRACE) {
-            builder.advanceLexer(); // }
+        expectToken(builder, BuddhistTypes.RBRACE, "'}' expected");
+        marker.done(BuddhistTypes.OBJECT_LITERAL);
+        return marker;
+    }
+
+    private static void expectToken(PsiBuilder builder, IElementType tokenType, String message) {
+        if (builder.getTokenType() == tokenType) {
+            builder.advanceLexer();
+        } else {
+            builder.error(message);
         }
-        marker.done(BuddhistTypes.LBRACE);
-    }
-
-    private boolean isBinaryOperator(IElementType tokenType) {
-        return tokenType == BuddhistTypes.PLUS ||
-               tokenType == BuddhistTypes.MINUS ||
-               tokenType == BuddhistTypes.ASTERISK ||
-               tokenType == BuddhistTypes.SLASH ||
-               tokenType == BuddhistTypes.MODULO ||
-               tokenType == BuddhistTypes.EQ ||
-               tokenType == BuddhistTypes.NOT_EQ ||
-               tokenType == BuddhistTypes.LT ||
-               tokenType == BuddhistTypes.GT ||
-               tokenType == BuddhistTypes.LT_EQ ||
-               tokenType == BuddhistTypes.GT_EQ ||
-               tokenType == BuddhistTypes.AND ||
-               tokenType == BuddhistTypes.OR;
     }
 }
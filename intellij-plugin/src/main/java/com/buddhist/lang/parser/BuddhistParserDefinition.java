@@ -1,6 +1,5 @@
 package com.buddhist.lang.parser;
 
-import com.buddhist.lang.BuddhistLanguage;
 import com.buddhist.lang.lexer.BuddhistLexer;
 import com.intellij.lang.ASTNode;
 import com.intellij.lang.ParserDefinition;
@@ -10,22 +9,20 @@ import com.intellij.openapi.project.Project;
 import com.intellij.psi.FileViewProvider;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.impl.source.tree.LeafPsiElement;
 import com.intellij.psi.tree.IFileElementType;
 import com.intellij.psi.tree.TokenSet;
+import com.buddhist.lang.psi.BuddhistTokenSets;
 import com.buddhist.lang.psi.BuddhistTypes;
 import com.buddhist.lang.psi.BuddhistFile;
+import com.buddhist.lang.psi.stubs.BuddhistFileStubElementType;
 import org.jetbrains.annotations.NotNull;
 
 public class BuddhistParserDefinition implements ParserDefinition {
-    public static final IFileElementType FILE = new IFileElementType(BuddhistLanguage.INSTANCE);
+    public static final IFileElementType FILE = new BuddhistFileStubElementType();
 
     public static final TokenSet WHITE_SPACES = TokenSet.create(com.intellij.psi.TokenType.WHITE_SPACE);
-    public static final TokenSet COMMENTS = TokenSet.create(
-            BuddhistTypes.LINE_COMMENT,
-            BuddhistTypes.BLOCK_COMMENT
-    );
-    public static final TokenSet STRING_LITERALS = TokenSet.create(BuddhistTypes.STRING);
+    public static final TokenSet COMMENTS = BuddhistTokenSets.COMMENTS;
+    public static final TokenSet STRING_LITERALS = BuddhistTokenSets.STRINGS;
 
     @NotNull
     @Override
@@ -78,6 +75,6 @@ public class BuddhistParserDefinition implements ParserDefinition {
     @NotNull
     @Override
     public PsiElement createElement(ASTNode node) {
-        return new LeafPsiElement(node.getElementType(), node.getText());
+        return BuddhistTypes.Factory.createElement(node);
     }
 }
@@ -0,0 +1,9 @@
+package com.buddhist.lang.psi;
+
+import org.jetbrains.annotations.Nullable;
+
+// channel or channel(bufferSize)
+public interface BuddhistChannelExpression extends BuddhistCompositeElement {
+    @Nullable
+    BuddhistCompositeElement getBufferSize();
+}
@@ -0,0 +1,107 @@
+package com.buddhist.lang.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiUtilCore;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The channels a function sends to and receives from, keyed by the names in the channel expression
+ * ({@code ch}, {@code this.jobs}), so spacing and comments inside it don't matter. Functions nested inside it, including spawned closures, have their own summaries.
+ */
+public final class BuddhistChannelSummary {
+    private static final TokenSet FUNCTIONS = TokenSet.create(BuddhistTypes.FUNCTION_DECLARATION, BuddhistTypes.FUNCTION_LITERAL);
+
+    private final Map<String, List<BuddhistSendExpression>> sends;
+    private final Map<String, List<BuddhistReceiveExpression>> receives;
+
+    private BuddhistChannelSummary(Map<String, List<BuddhistSendExpression>> sends,
+                                   Map<String, List<BuddhistReceiveExpression>> receives) {
+        this.sends = sends;
+        this.receives = receives;
+    }
+
+    @NotNull
+    public Set<String> getSentChannels() {
+        return sends.keySet();
+    }
+
+    @NotNull
+    public Set<String> getReceivedChannels() {
+        return receives.keySet();
+    }
+
+    @NotNull
+    public List<BuddhistSendExpression> getSends(@NotNull String channel) {
+        return sends.getOrDefault(channel, Collections.emptyList());
+    }
+
+    @NotNull
+    public List<BuddhistReceiveExpression> getReceives(@NotNull String channel) {
+        return receives.getOrDefault(channel, Collections.emptyList());
+    }
+
+    // Computed on first use and kept until the containing file changes
+    @NotNull
+    public static BuddhistChannelSummary of(@NotNull PsiElement function) {
+        return CachedValuesManager.getCachedValue(function, () -> CachedValueProvider.Result.create(compute(function), function));
+    }
+
+    @NotNull
+    private static BuddhistChannelSummary compute(@NotNull PsiElement function) {
+        Map<String, List<BuddhistSendExpression>> sends = new LinkedHashMap<>();
+        Map<String, List<BuddhistReceiveExpression>> receives = new LinkedHashMap<>();
+        function.acceptChildren(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                if (FUNCTIONS.contains(PsiUtilCore.getElementType(element))) {
+                    return;
+                }
+                if (element instanceof BuddhistSendExpression) {
+                    String channel = channelName(((BuddhistSendExpression) element).getChannel());
+                    if (channel != null) {
+                        sends.computeIfAbsent(channel, key -> new ArrayList<>()).add((BuddhistSendExpression) element);
+                    }
+                } else if (element instanceof BuddhistReceiveExpression) {
+                    String channel = channelName(((BuddhistReceiveExpression) element).getChannel());
+                    if (channel != null) {
+                        receives.computeIfAbsent(channel, key -> new ArrayList<>()).add((BuddhistReceiveExpression) element);
+                    }
+                }
+                super.visitElement(element);
+            }
+        });
+        return new BuddhistChannelSummary(Collections.unmodifiableMap(sends), Collections.unmodifiableMap(receives));
+    }
+
+    // Only names, this and member accesses on them identify a channel; anything else (a call, an index) is not tracked
+    @Nullable
+    private static String channelName(@Nullable PsiElement channel) {
+        if (channel instanceof BuddhistReferenceExpression) {
+            return ((BuddhistReferenceExpression) channel).getReferenceName();
+        }
+        IElementType type = PsiUtilCore.getElementType(channel);
+        if (type == BuddhistTypes.THIS_EXPRESSION) {
+            return "this";
+        }
+        if (type == BuddhistTypes.MEMBER_EXPRESSION) {
+            String qualifier = channelName(channel.getFirstChild());
+            ASTNode name = channel.getNode().findChildByType(BuddhistTypes.IDENTIFIER);
+            return qualifier == null || name == null ? null : qualifier + "." + name.getText();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.buddhist.lang.psi;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+public interface BuddhistClassDeclaration extends BuddhistDeclaration {
+    // The Parent in class Name extends Parent
+    @Nullable
+    BuddhistReferenceExpression getSuperClassReference();
+
+    @NotNull
+    List<BuddhistFieldDeclaration> getFields();
+
+    @NotNull
+    List<BuddhistFunctionDeclaration> getMethods();
+}
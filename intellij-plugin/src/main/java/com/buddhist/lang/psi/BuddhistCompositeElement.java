@@ -0,0 +1,7 @@
+package com.buddhist.lang.psi;
+
+import com.intellij.psi.PsiElement;
+
+// Base interface of the composite (non-token) PSI elements, which are thin wrappers over their AST nodes
+public interface BuddhistCompositeElement extends PsiElement {
+}
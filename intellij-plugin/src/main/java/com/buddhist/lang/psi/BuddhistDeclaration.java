@@ -0,0 +1,12 @@
+package com.buddhist.lang.psi;
+
+import com.buddhist.lang.psi.stubs.BuddhistDeclarationStub;
+import com.intellij.psi.PsiNameIdentifierOwner;
+import com.intellij.psi.StubBasedPsiElement;
+
+/**
+ * A named top-level declaration ({@code fn}, {@code class}, {@code const} or {@code export}) that is
+ * kept in the stub tree, so its name can be read without parsing the file.
+ */
+public interface BuddhistDeclaration extends PsiNameIdentifierOwner, StubBasedPsiElement<BuddhistDeclarationStub> {
+}
@@ -0,0 +1,33 @@
+package com.buddhist.lang.psi;
+
+import com.buddhist.lang.BuddhistFileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.util.PsiUtilCore;
+import com.intellij.util.IncorrectOperationException;
+import org.jetbrains.annotations.NotNull;
+
+// Creates PSI fragments by parsing a throwaway file, for rename and other edits
+public final class BuddhistElementFactory {
+    private BuddhistElementFactory() {
+    }
+
+    @NotNull
+    public static PsiElement createIdentifier(@NotNull Project project, @NotNull String name) {
+        PsiFile file = PsiFileFactory.getInstance(project).createFileFromText("dummy.bl", BuddhistFileType.INSTANCE, name + ";");
+        PsiElement identifier = file.findElementAt(0);
+        if (PsiUtilCore.getElementType(identifier) != BuddhistTypes.IDENTIFIER || identifier.getTextLength() != name.length()) {
+            throw new IncorrectOperationException("'" + name + "' is not a valid identifier");
+        }
+        return identifier;
+    }
+
+    // Replaces the identifier token in place and returns the owner, as setName and reference renames expect
+    @NotNull
+    public static <T extends PsiElement> T renameIdentifier(@NotNull T owner, @NotNull PsiElement identifier, @NotNull String name) {
+        identifier.replace(createIdentifier(owner.getProject(), name));
+        return owner;
+    }
+}
@@ -0,0 +1,16 @@
+package com.buddhist.lang.psi;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+public interface BuddhistExportDeclaration extends BuddhistDeclaration {
+    // The fn, class or const being exported, or null for an export {a, b} clause
+    @Nullable
+    BuddhistDeclaration getExportedDeclaration();
+
+    // The names of an export {a, b} clause
+    @NotNull
+    List<BuddhistExportSpecifier> getExportSpecifiers();
+}
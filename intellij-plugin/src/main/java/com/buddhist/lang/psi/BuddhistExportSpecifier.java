@@ -0,0 +1,5 @@
+package com.buddhist.lang.psi;
+
+// One name in export {a, b}; stubbed and indexed like any other export
+public interface BuddhistExportSpecifier extends BuddhistDeclaration {
+}
@@ -0,0 +1,4 @@
+package com.buddhist.lang.psi;
+
+public interface BuddhistFunctionDeclaration extends BuddhistDeclaration {
+}
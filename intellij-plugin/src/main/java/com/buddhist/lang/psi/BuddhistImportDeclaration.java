@@ -0,0 +1,25 @@
+package com.buddhist.lang.psi;
+
+import com.buddhist.lang.psi.stubs.BuddhistImportStub;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBasedPsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+// import {a, b} from "path"; or import "path";
+public interface BuddhistImportDeclaration extends BuddhistCompositeElement, StubBasedPsiElement<BuddhistImportStub> {
+    // The module path without quotes
+    @Nullable
+    String getPath();
+
+    @Nullable
+    PsiElement getPathElement();
+
+    @NotNull
+    List<String> getImportedNames();
+
+    @NotNull
+    List<BuddhistImportSpecifier> getImportSpecifiers();
+}
@@ -0,0 +1,7 @@
+package com.buddhist.lang.psi;
+
+import com.intellij.psi.PsiNameIdentifierOwner;
+
+// One name in import {a, b} from "path"
+public interface BuddhistImportSpecifier extends BuddhistCompositeElement, PsiNameIdentifierOwner {
+}
@@ -0,0 +1,6 @@
+package com.buddhist.lang.psi;
+
+import com.intellij.psi.PsiNameIdentifierOwner;
+
+public interface BuddhistLetStatement extends BuddhistCompositeElement, PsiNameIdentifierOwner {
+}
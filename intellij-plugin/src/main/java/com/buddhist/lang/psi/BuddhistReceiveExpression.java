@@ -0,0 +1,9 @@
+package com.buddhist.lang.psi;
+
+import org.jetbrains.annotations.Nullable;
+
+// <- channel
+public interface BuddhistReceiveExpression extends BuddhistCompositeElement {
+    @Nullable
+    BuddhistCompositeElement getChannel();
+}
@@ -0,0 +1,12 @@
+package com.buddhist.lang.psi;
+
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.NotNull;
+
+public interface BuddhistReferenceExpression extends BuddhistCompositeElement {
+    @NotNull
+    PsiElement getIdentifier();
+
+    @NotNull
+    String getReferenceName();
+}
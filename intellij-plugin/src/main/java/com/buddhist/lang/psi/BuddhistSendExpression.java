@@ -0,0 +1,13 @@
+package com.buddhist.lang.psi;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+// channel <- value
+public interface BuddhistSendExpression extends BuddhistCompositeElement {
+    @NotNull
+    BuddhistCompositeElement getChannel();
+
+    @Nullable
+    BuddhistCompositeElement getValue();
+}
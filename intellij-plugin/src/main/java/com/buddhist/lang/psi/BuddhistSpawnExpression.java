@@ -0,0 +1,9 @@
+package com.buddhist.lang.psi;
+
+import org.jetbrains.annotations.Nullable;
+
+// spawn expression, usually a call run on a new goroutine
+public interface BuddhistSpawnExpression extends BuddhistCompositeElement {
+    @Nullable
+    BuddhistCompositeElement getSpawnedExpression();
+}
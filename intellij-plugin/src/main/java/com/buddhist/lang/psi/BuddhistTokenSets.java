@@ -0,0 +1,33 @@
+package com.buddhist.lang.psi;
+
+import com.buddhist.lang.lexer.BuddhistKeywords;
+import com.intellij.psi.tree.TokenSet;
+
+public class BuddhistTokenSets {
+    // Follows the lexer's keyword table, which is generated from the Go lexer's keyword map
+    public static final TokenSet KEYWORDS = BuddhistKeywords.types();
+
+    public static final TokenSet OPERATORS = TokenSet.create(
+            BuddhistTypes.PLUS,
+            BuddhistTypes.MINUS,
+            BuddhistTypes.ASTERISK,
+            BuddhistTypes.SLASH,
+            BuddhistTypes.MODULO,
+            BuddhistTypes.ASSIGN,
+            BuddhistTypes.EQ,
+            BuddhistTypes.NOT_EQ,
+            BuddhistTypes.LT,
+            BuddhistTypes.GT,
+            BuddhistTypes.LT_EQ,
+            BuddhistTypes.GT_EQ,
+            BuddhistTypes.AND,
+            BuddhistTypes.OR,
+            BuddhistTypes.ARROW,
+            BuddhistTypes.SEND,
+            BuddhistTypes.RECEIVE
+    );
+
+    public static final TokenSet COMMENTS = TokenSet.create(BuddhistTypes.LINE_COMMENT, BuddhistTypes.BLOCK_COMMENT);
+    public static final TokenSet STRINGS = TokenSet.create(BuddhistTypes.STRING);
+    public static final TokenSet NUMBERS = TokenSet.create(BuddhistTypes.INT, BuddhistTypes.FLOAT);
+}
@@ -1,7 +1,31 @@
 package com.buddhist.lang.psi;
 
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
 import com.intellij.psi.tree.IElementType;
 import com.buddhist.lang.BuddhistLanguage;
+import com.buddhist.lang.parser.BuddhistBlockElementType;
+import com.buddhist.lang.psi.impl.BuddhistChannelExpressionImpl;
+import com.buddhist.lang.psi.impl.BuddhistClassDeclarationImpl;
+import com.buddhist.lang.psi.impl.BuddhistCompositeElementImpl;
+import com.buddhist.lang.psi.impl.BuddhistConstDeclarationImpl;
+import com.buddhist.lang.psi.impl.BuddhistExportDeclarationImpl;
+import com.buddhist.lang.psi.impl.BuddhistExportSpecifierImpl;
+import com.buddhist.lang.psi.impl.BuddhistFieldDeclarationImpl;
+import com.buddhist.lang.psi.impl.BuddhistFunctionDeclarationImpl;
+import com.buddhist.lang.psi.impl.BuddhistImportDeclarationImpl;
+import com.buddhist.lang.psi.impl.BuddhistImportSpecifierImpl;
+import com.buddhist.lang.psi.impl.BuddhistLetStatementImpl;
+import com.buddhist.lang.psi.impl.BuddhistParameterImpl;
+import com.buddhist.lang.psi.impl.BuddhistReceiveExpressionImpl;
+import com.buddhist.lang.psi.impl.BuddhistReferenceExpressionImpl;
+import com.buddhist.lang.psi.impl.BuddhistSendExpressionImpl;
+import com.buddhist.lang.psi.impl.BuddhistSpawnExpressionImpl;
+import com.buddhist.lang.psi.stubs.BuddhistClassIndex;
+import com.buddhist.lang.psi.stubs.BuddhistDeclarationElementType;
+import com.buddhist.lang.psi.stubs.BuddhistDeclarationIndex;
+import com.buddhist.lang.psi.stubs.BuddhistExportIndex;
+import com.buddhist.lang.psi.stubs.BuddhistImportElementType;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 
@@ -14,22 +38,28 @@ public class BuddhistTypes {
 
     // Keywords
     public static final IElementType FUNCTION = new BuddhistElementType("FUNCTION");
-    public static final IElementType LET = new BuddhistElementType("LET");
+    public static final IElementType PLACE = new BuddhistElementType("PLACE");
+    public static final IElementType SET = new BuddhistElementType("SET");
     public static final IElementType CONST = new BuddhistElementType("CONST");
     public static final IElementType TRUE = new BuddhistElementType("TRUE");
     public static final IElementType FALSE = new BuddhistElementType("FALSE");
     public static final IElementType IF = new BuddhistElementType("IF");
     public static final IElementType ELSE = new BuddhistElementType("ELSE");
     public static final IElementType THEN = new BuddhistElementType("THEN");
+    public static final IElementType NOT = new BuddhistElementType("NOT");
     public static final IElementType RETURN = new BuddhistElementType("RETURN");
     public static final IElementType FOR = new BuddhistElementType("FOR");
     public static final IElementType WHILE = new BuddhistElementType("WHILE");
+    public static final IElementType UNTIL = new BuddhistElementType("UNTIL");
     public static final IElementType BREAK = new BuddhistElementType("BREAK");
     public static final IElementType CONTINUE = new BuddhistElementType("CONTINUE");
     public static final IElementType NULL = new BuddhistElementType("NULL");
     public static final IElementType SPAWN = new BuddhistElementType("SPAWN");
     public static final IElementType CHANNEL = new BuddhistElementType("CHANNEL");
     public static final IElementType CLASS = new BuddhistElementType("CLASS");
+    public static final IElementType EXTENDS = new BuddhistElementType("EXTENDS");
+    public static final IElementType THIS = new BuddhistElementType("THIS");
+    public static final IElementType SUPER = new BuddhistElementType("SUPER");
     public static final IElementType IMPORT = new BuddhistElementType("IMPORT");
     public static final IElementType EXPORT = new BuddhistElementType("EXPORT");
     public static final IElementType FROM = new BuddhistElementType("FROM");
@@ -64,6 +94,7 @@ public class BuddhistTypes {
     public static final IElementType ARROW = new BuddhistElementType("ARROW");
     public static final IElementType SEND = new BuddhistElementType("SEND");
     public static final IElementType RECEIVE = new BuddhistElementType("RECEIVE");
+    public static final IElementType DOT = new BuddhistElementType("DOT");
 
     // Delimiters
     public static final IElementType COMMA = new BuddhistElementType("COMMA");
@@ -79,9 +110,110 @@ public class BuddhistTypes {
     // Bad character
     public static final IElementType BAD_CHARACTER = new BuddhistElementType("BAD_CHARACTER");
 
+    // Composite types
+    public static final IElementType BLOCK = new BuddhistBlockElementType("BLOCK");
+    public static final IElementType LET_STATEMENT = new BuddhistCompositeType("LET_STATEMENT");
+    public static final IElementType SET_STATEMENT = new BuddhistCompositeType("SET_STATEMENT");
+    public static final IElementType RETURN_STATEMENT = new BuddhistCompositeType("RETURN_STATEMENT");
+    public static final IElementType IF_STATEMENT = new BuddhistCompositeType("IF_STATEMENT");
+    public static final IElementType WHILE_STATEMENT = new BuddhistCompositeType("WHILE_STATEMENT");
+    public static final IElementType FOR_STATEMENT = new BuddhistCompositeType("FOR_STATEMENT");
+    public static final IElementType BREAK_STATEMENT = new BuddhistCompositeType("BREAK_STATEMENT");
+    public static final IElementType CONTINUE_STATEMENT = new BuddhistCompositeType("CONTINUE_STATEMENT");
+    public static final IElementType EXPRESSION_STATEMENT = new BuddhistCompositeType("EXPRESSION_STATEMENT");
+    public static final IElementType THROW_STATEMENT = new BuddhistCompositeType("THROW_STATEMENT");
+    public static final IElementType TRY_EXPRESSION = new BuddhistCompositeType("TRY_EXPRESSION");
+    public static final IElementType CATCH_CLAUSE = new BuddhistCompositeType("CATCH_CLAUSE");
+    public static final IElementType FINALLY_CLAUSE = new BuddhistCompositeType("FINALLY_CLAUSE");
+    public static final IElementType CLASS_BODY = new BuddhistCompositeType("CLASS_BODY");
+    public static final IElementType FIELD_DECLARATION = new BuddhistCompositeType("FIELD_DECLARATION");
+    public static final IElementType IMPORT_SPECIFIER = new BuddhistCompositeType("IMPORT_SPECIFIER");
+    public static final IElementType PARAMETER_LIST = new BuddhistCompositeType("PARAMETER_LIST");
+    public static final IElementType PARAMETER = new BuddhistCompositeType("PARAMETER");
+    public static final IElementType BINARY_EXPRESSION = new BuddhistCompositeType("BINARY_EXPRESSION");
+    public static final IElementType ASSIGNMENT_EXPRESSION = new BuddhistCompositeType("ASSIGNMENT_EXPRESSION");
+    public static final IElementType SEND_EXPRESSION = new BuddhistCompositeType("SEND_EXPRESSION");
+    public static final IElementType RECEIVE_EXPRESSION = new BuddhistCompositeType("RECEIVE_EXPRESSION");
+    public static final IElementType SPAWN_EXPRESSION = new BuddhistCompositeType("SPAWN_EXPRESSION");
+    public static final IElementType CHANNEL_EXPRESSION = new BuddhistCompositeType("CHANNEL_EXPRESSION");
+    public static final IElementType PREFIX_EXPRESSION = new BuddhistCompositeType("PREFIX_EXPRESSION");
+    public static final IElementType CALL_EXPRESSION = new BuddhistCompositeType("CALL_EXPRESSION");
+    public static final IElementType ARGUMENT_LIST = new BuddhistCompositeType("ARGUMENT_LIST");
+    public static final IElementType INDEX_EXPRESSION = new BuddhistCompositeType("INDEX_EXPRESSION");
+    public static final IElementType MEMBER_EXPRESSION = new BuddhistCompositeType("MEMBER_EXPRESSION");
+    public static final IElementType FUNCTION_LITERAL = new BuddhistCompositeType("FUNCTION_LITERAL");
+    public static final IElementType PARENTHESIZED_EXPRESSION = new BuddhistCompositeType("PARENTHESIZED_EXPRESSION");
+    public static final IElementType REFERENCE_EXPRESSION = new BuddhistCompositeType("REFERENCE_EXPRESSION");
+    public static final IElementType THIS_EXPRESSION = new BuddhistCompositeType("THIS_EXPRESSION");
+    public static final IElementType SUPER_EXPRESSION = new BuddhistCompositeType("SUPER_EXPRESSION");
+    public static final IElementType LITERAL_EXPRESSION = new BuddhistCompositeType("LITERAL_EXPRESSION");
+    public static final IElementType ARRAY_LITERAL = new BuddhistCompositeType("ARRAY_LITERAL");
+    public static final IElementType OBJECT_LITERAL = new BuddhistCompositeType("OBJECT_LITERAL");
+
+    // Stubbed declarations
+    public static final BuddhistDeclarationElementType FUNCTION_DECLARATION = new BuddhistDeclarationElementType(
+            "FUNCTION_DECLARATION", BuddhistFunctionDeclarationImpl::new, BuddhistFunctionDeclarationImpl::new, BuddhistDeclarationIndex.KEY);
+    public static final BuddhistDeclarationElementType CLASS_DECLARATION = new BuddhistDeclarationElementType(
+            "CLASS_DECLARATION", BuddhistClassDeclarationImpl::new, BuddhistClassDeclarationImpl::new,
+            BuddhistDeclarationIndex.KEY, BuddhistClassIndex.KEY);
+    public static final BuddhistDeclarationElementType CONST_DECLARATION = new BuddhistDeclarationElementType(
+            "CONST_DECLARATION", BuddhistConstDeclarationImpl::new, BuddhistConstDeclarationImpl::new, BuddhistDeclarationIndex.KEY);
+    public static final BuddhistDeclarationElementType EXPORT_DECLARATION = new BuddhistDeclarationElementType(
+            "EXPORT_DECLARATION", BuddhistExportDeclarationImpl::new, BuddhistExportDeclarationImpl::new, BuddhistExportIndex.KEY);
+    public static final BuddhistDeclarationElementType EXPORT_SPECIFIER = new BuddhistDeclarationElementType(
+            "EXPORT_SPECIFIER", BuddhistExportSpecifierImpl::new, BuddhistExportSpecifierImpl::new, BuddhistExportIndex.KEY);
+    public static final BuddhistImportElementType IMPORT_DECLARATION = new BuddhistImportElementType("IMPORT_DECLARATION");
+
     private static class BuddhistElementType extends IElementType {
         public BuddhistElementType(@NotNull @NonNls String debugName) {
             super(debugName, BuddhistLanguage.INSTANCE);
         }
     }
+
+    private static class BuddhistCompositeType extends IElementType {
+        public BuddhistCompositeType(@NotNull @NonNls String debugName) {
+            super(debugName, BuddhistLanguage.INSTANCE);
+        }
+    }
+
+    public static class Factory {
+        // PSI for composite nodes; leaves get their PSI from the platform
+        public static PsiElement createElement(ASTNode node) {
+            IElementType type = node.getElementType();
+            if (type instanceof BuddhistDeclarationElementType) {
+                return ((BuddhistDeclarationElementType) type).createPsi(node);
+            }
+            if (type == IMPORT_DECLARATION) {
+                return new BuddhistImportDeclarationImpl(node);
+            }
+            if (type == LET_STATEMENT) {
+                return new BuddhistLetStatementImpl(node);
+            }
+            if (type == FIELD_DECLARATION) {
+                return new BuddhistFieldDeclarationImpl(node);
+            }
+            if (type == IMPORT_SPECIFIER) {
+                return new BuddhistImportSpecifierImpl(node);
+            }
+            if (type == PARAMETER) {
+                return new BuddhistParameterImpl(node);
+            }
+            if (type == REFERENCE_EXPRESSION) {
+                return new BuddhistReferenceExpressionImpl(node);
+            }
+            if (type == SEND_EXPRESSION) {
+                return new BuddhistSendExpressionImpl(node);
+            }
+            if (type == RECEIVE_EXPRESSION) {
+                return new BuddhistReceiveExpressionImpl(node);
+            }
+            if (type == SPAWN_EXPRESSION) {
+                return new BuddhistSpawnExpressionImpl(node);
+            }
+            if (type == CHANNEL_EXPRESSION) {
+                return new BuddhistChannelExpressionImpl(node);
+            }
+            return new BuddhistCompositeElementImpl(node);
+        }
+    }
 }
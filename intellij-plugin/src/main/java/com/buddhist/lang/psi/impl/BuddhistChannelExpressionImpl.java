@@ -0,0 +1,19 @@
+package com.buddhist.lang.psi.impl;
+
+import com.buddhist.lang.psi.BuddhistChannelExpression;
+import com.buddhist.lang.psi.BuddhistCompositeElement;
+import com.intellij.lang.ASTNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class BuddhistChannelExpressionImpl extends BuddhistCompositeElementImpl implements BuddhistChannelExpression {
+    public BuddhistChannelExpressionImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    @Override
+    public BuddhistCompositeElement getBufferSize() {
+        return findChildByClass(BuddhistCompositeElement.class);
+    }
+}
@@ -0,0 +1,53 @@
+package com.buddhist.lang.psi.impl;
+
+import com.buddhist.lang.psi.BuddhistClassDeclaration;
+import com.buddhist.lang.psi.BuddhistFieldDeclaration;
+import com.buddhist.lang.psi.BuddhistFunctionDeclaration;
+import com.buddhist.lang.psi.BuddhistReferenceExpression;
+import com.buddhist.lang.psi.BuddhistTypes;
+import com.buddhist.lang.psi.stubs.BuddhistDeclarationStub;
+import com.intellij.icons.AllIcons;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.Collections;
+import java.util.List;
+
+public class BuddhistClassDeclarationImpl extends BuddhistDeclarationImplBase implements BuddhistClassDeclaration {
+    public BuddhistClassDeclarationImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public BuddhistClassDeclarationImpl(@NotNull BuddhistDeclarationStub stub, @NotNull IStubElementType<?, ?> type) {
+        super(stub, type);
+    }
+
+    @Override
+    public Icon getIcon(int flags) {
+        return AllIcons.Nodes.Class;
+    }
+
+    @Nullable
+    @Override
+    public BuddhistReferenceExpression getSuperClassReference() {
+        return findChildByClass(BuddhistReferenceExpression.class);
+    }
+
+    @NotNull
+    @Override
+    public List<BuddhistFieldDeclaration> getFields() {
+        ASTNode body = getNode().findChildByType(BuddhistTypes.CLASS_BODY);
+        return body != null ? PsiTreeUtil.getChildrenOfTypeAsList(body.getPsi(), BuddhistFieldDeclaration.class) : Collections.emptyList();
+    }
+
+    @NotNull
+    @Override
+    public List<BuddhistFunctionDeclaration> getMethods() {
+        ASTNode body = getNode().findChildByType(BuddhistTypes.CLASS_BODY);
+        return body != null ? PsiTreeUtil.getChildrenOfTypeAsList(body.getPsi(), BuddhistFunctionDeclaration.class) : Collections.emptyList();
+    }
+}
@@ -0,0 +1,17 @@
+package com.buddhist.lang.psi.impl;
+
+import com.buddhist.lang.psi.BuddhistCompositeElement;
+import com.intellij.extapi.psi.ASTWrapperPsiElement;
+import com.intellij.lang.ASTNode;
+import org.jetbrains.annotations.NotNull;
+
+public class BuddhistCompositeElementImpl extends ASTWrapperPsiElement implements BuddhistCompositeElement {
+    public BuddhistCompositeElementImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Override
+    public String toString() {
+        return getNode().getElementType().toString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.buddhist.lang.psi.impl;
+
+import com.buddhist.lang.psi.BuddhistDeclaration;
+import com.buddhist.lang.psi.BuddhistElementFactory;
+import com.buddhist.lang.psi.BuddhistTypes;
+import com.buddhist.lang.psi.stubs.BuddhistDeclarationStub;
+import com.intellij.extapi.psi.StubBasedPsiElementBase;
+import com.intellij.ide.projectView.PresentationData;
+import com.intellij.lang.ASTNode;
+import com.intellij.navigation.ItemPresentation;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.util.IncorrectOperationException;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public abstract class BuddhistDeclarationImplBase extends StubBasedPsiElementBase<BuddhistDeclarationStub>
+        implements BuddhistDeclaration {
+    protected BuddhistDeclarationImplBase(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    protected BuddhistDeclarationImplBase(@NotNull BuddhistDeclarationStub stub, @NotNull IStubElementType<?, ?> type) {
+        super(stub, type);
+    }
+
+    @Nullable
+    @Override
+    public String getName() {
+        BuddhistDeclarationStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.getName();
+        }
+        PsiElement identifier = getNameIdentifier();
+        return identifier != null ? identifier.getText() : null;
+    }
+
+    @Nullable
+    @Override
+    public PsiElement getNameIdentifier() {
+        ASTNode identifier = getNode().findChildByType(BuddhistTypes.IDENTIFIER);
+        return identifier != null ? identifier.getPsi() : null;
+    }
+
+    @Override
+    public int getTextOffset() {
+        PsiElement identifier = getNameIdentifier();
+        return identifier != null ? identifier.getTextOffset() : super.getTextOffset();
+    }
+
+    @Override
+    public PsiElement setName(@NonNls @NotNull String name) throws IncorrectOperationException {
+        PsiElement identifier = getNameIdentifier();
+        if (identifier == null) {
+            throw new IncorrectOperationException("Element has no name to rename");
+        }
+        return BuddhistElementFactory.renameIdentifier(this, identifier, name);
+    }
+
+    // Name, file and icon as shown by Go to Symbol / Go to Class; needs only the stub
+    @Override
+    public ItemPresentation getPresentation() {
+        return new PresentationData(getName(), getContainingFile().getName(), getIcon(0), null);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + getName() + ")";
+    }
+}
@@ -0,0 +1,83 @@
+package com.buddhist.lang.psi.impl;
+
+import com.buddhist.lang.psi.BuddhistDeclaration;
+import com.buddhist.lang.psi.BuddhistExportDeclaration;
+import com.buddhist.lang.psi.BuddhistExportSpecifier;
+import com.buddhist.lang.psi.stubs.BuddhistDeclarationStub;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BuddhistExportDeclarationImpl extends BuddhistDeclarationImplBase implements BuddhistExportDeclaration {
+    public BuddhistExportDeclarationImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public BuddhistExportDeclarationImpl(@NotNull BuddhistDeclarationStub stub, @NotNull IStubElementType<?, ?> type) {
+        super(stub, type);
+    }
+
+    @Nullable
+    @Override
+    public BuddhistDeclaration getExportedDeclaration() {
+        for (BuddhistDeclaration child : getChildDeclarations()) {
+            if (!(child instanceof BuddhistExportSpecifier)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    @NotNull
+    @Override
+    public List<BuddhistExportSpecifier> getExportSpecifiers() {
+        List<BuddhistExportSpecifier> specifiers = new ArrayList<>();
+        for (BuddhistDeclaration child : getChildDeclarations()) {
+            if (child instanceof BuddhistExportSpecifier) {
+                specifiers.add((BuddhistExportSpecifier) child);
+            }
+        }
+        return specifiers;
+    }
+
+    // From the stub when there is one, so neither accessor loads the AST
+    @NotNull
+    private List<BuddhistDeclaration> getChildDeclarations() {
+        List<BuddhistDeclaration> declarations = new ArrayList<>();
+        BuddhistDeclarationStub stub = getGreenStub();
+        if (stub != null) {
+            for (StubElement<?> child : stub.getChildrenStubs()) {
+                if (child.getPsi() instanceof BuddhistDeclaration) {
+                    declarations.add((BuddhistDeclaration) child.getPsi());
+                }
+            }
+        } else {
+            for (PsiElement child = getFirstChild(); child != null; child = child.getNextSibling()) {
+                if (child instanceof BuddhistDeclaration) {
+                    declarations.add((BuddhistDeclaration) child);
+                }
+            }
+        }
+        return declarations;
+    }
+
+    @Override
+    public Icon getIcon(int flags) {
+        BuddhistDeclaration declaration = getExportedDeclaration();
+        return declaration != null ? declaration.getIcon(flags) : null;
+    }
+
+    @Nullable
+    @Override
+    public PsiElement getNameIdentifier() {
+        BuddhistDeclaration declaration = getExportedDeclaration();
+        return declaration != null ? declaration.getNameIdentifier() : null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.buddhist.lang.psi.impl;
+
+import com.buddhist.lang.psi.BuddhistExportSpecifier;
+import com.buddhist.lang.psi.stubs.BuddhistDeclarationStub;
+import com.buddhist.lang.resolve.BuddhistExportSpecifierReference;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.stubs.IStubElementType;
+import org.jetbrains.annotations.NotNull;
+
+public class BuddhistExportSpecifierImpl extends BuddhistDeclarationImplBase implements BuddhistExportSpecifier {
+    public BuddhistExportSpecifierImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public BuddhistExportSpecifierImpl(@NotNull BuddhistDeclarationStub stub, @NotNull IStubElementType<?, ?> type) {
+        super(stub, type);
+    }
+
+    @NotNull
+    @Override
+    public PsiReference getReference() {
+        return new BuddhistExportSpecifierReference(this);
+    }
+}
@@ -0,0 +1,11 @@
+package com.buddhist.lang.psi.impl;
+
+import com.buddhist.lang.psi.BuddhistFieldDeclaration;
+import com.intellij.lang.ASTNode;
+import org.jetbrains.annotations.NotNull;
+
+public class BuddhistFieldDeclarationImpl extends BuddhistNamedElementImplBase implements BuddhistFieldDeclaration {
+    public BuddhistFieldDeclarationImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+}
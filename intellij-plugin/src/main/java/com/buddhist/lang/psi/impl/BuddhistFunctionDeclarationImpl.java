@@ -0,0 +1,25 @@
+package com.buddhist.lang.psi.impl;
+
+import com.buddhist.lang.psi.BuddhistFunctionDeclaration;
+import com.buddhist.lang.psi.stubs.BuddhistDeclarationStub;
+import com.intellij.icons.AllIcons;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.IStubElementType;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+
+public class BuddhistFunctionDeclarationImpl extends BuddhistDeclarationImplBase implements BuddhistFunctionDeclaration {
+    public BuddhistFunctionDeclarationImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public BuddhistFunctionDeclarationImpl(@NotNull BuddhistDeclarationStub stub, @NotNull IStubElementType<?, ?> type) {
+        super(stub, type);
+    }
+
+    @Override
+    public Icon getIcon(int flags) {
+        return AllIcons.Nodes.Function;
+    }
+}
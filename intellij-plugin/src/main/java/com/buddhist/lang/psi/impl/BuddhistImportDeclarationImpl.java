@@ -0,0 +1,79 @@
+package com.buddhist.lang.psi.impl;
+
+import com.buddhist.lang.psi.BuddhistImportDeclaration;
+import com.buddhist.lang.psi.BuddhistImportSpecifier;
+import com.buddhist.lang.psi.BuddhistTypes;
+import com.buddhist.lang.psi.stubs.BuddhistImportStub;
+import com.buddhist.lang.resolve.BuddhistModulePathReference;
+import com.intellij.extapi.psi.StubBasedPsiElementBase;
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BuddhistImportDeclarationImpl extends StubBasedPsiElementBase<BuddhistImportStub> implements BuddhistImportDeclaration {
+    public BuddhistImportDeclarationImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public BuddhistImportDeclarationImpl(@NotNull BuddhistImportStub stub, @NotNull IStubElementType<?, ?> type) {
+        super(stub, type);
+    }
+
+    @Nullable
+    @Override
+    public String getPath() {
+        BuddhistImportStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.getPath();
+        }
+        PsiElement path = getPathElement();
+        return path != null ? StringUtil.unquoteString(path.getText()) : null;
+    }
+
+    @Nullable
+    @Override
+    public PsiElement getPathElement() {
+        ASTNode path = getNode().findChildByType(BuddhistTypes.STRING);
+        return path != null ? path.getPsi() : null;
+    }
+
+    @NotNull
+    @Override
+    public List<String> getImportedNames() {
+        BuddhistImportStub stub = getGreenStub();
+        if (stub != null) {
+            return stub.getImportedNames();
+        }
+        List<String> names = new ArrayList<>();
+        for (BuddhistImportSpecifier specifier : getImportSpecifiers()) {
+            names.add(specifier.getName());
+        }
+        return names;
+    }
+
+    @NotNull
+    @Override
+    public List<BuddhistImportSpecifier> getImportSpecifiers() {
+        return PsiTreeUtil.getChildrenOfTypeAsList(this, BuddhistImportSpecifier.class);
+    }
+
+    @Nullable
+    @Override
+    public PsiReference getReference() {
+        PsiElement path = getPathElement();
+        return path != null ? new BuddhistModulePathReference(this, path) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "BuddhistImportDeclaration(" + getPath() + ")";
+    }
+}
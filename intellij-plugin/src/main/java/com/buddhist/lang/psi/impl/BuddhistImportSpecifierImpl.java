@@ -0,0 +1,19 @@
+package com.buddhist.lang.psi.impl;
+
+import com.buddhist.lang.psi.BuddhistImportSpecifier;
+import com.buddhist.lang.resolve.BuddhistImportSpecifierReference;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiReference;
+import org.jetbrains.annotations.NotNull;
+
+public class BuddhistImportSpecifierImpl extends BuddhistNamedElementImplBase implements BuddhistImportSpecifier {
+    public BuddhistImportSpecifierImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @NotNull
+    @Override
+    public PsiReference getReference() {
+        return new BuddhistImportSpecifierReference(this);
+    }
+}
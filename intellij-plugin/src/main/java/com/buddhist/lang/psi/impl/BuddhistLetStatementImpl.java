@@ -0,0 +1,11 @@
+package com.buddhist.lang.psi.impl;
+
+import com.buddhist.lang.psi.BuddhistLetStatement;
+import com.intellij.lang.ASTNode;
+import org.jetbrains.annotations.NotNull;
+
+public class BuddhistLetStatementImpl extends BuddhistNamedElementImplBase implements BuddhistLetStatement {
+    public BuddhistLetStatementImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+}
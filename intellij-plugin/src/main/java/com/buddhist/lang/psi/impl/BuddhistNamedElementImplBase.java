@@ -0,0 +1,47 @@
+package com.buddhist.lang.psi.impl;
+
+import com.buddhist.lang.psi.BuddhistElementFactory;
+import com.buddhist.lang.psi.BuddhistTypes;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiNameIdentifierOwner;
+import com.intellij.util.IncorrectOperationException;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+// Composite elements that introduce a name through their first IDENTIFIER child
+public abstract class BuddhistNamedElementImplBase extends BuddhistCompositeElementImpl implements PsiNameIdentifierOwner {
+    protected BuddhistNamedElementImplBase(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    @Override
+    public PsiElement getNameIdentifier() {
+        ASTNode identifier = getNode().findChildByType(BuddhistTypes.IDENTIFIER);
+        return identifier != null ? identifier.getPsi() : null;
+    }
+
+    @Nullable
+    @Override
+    public String getName() {
+        PsiElement identifier = getNameIdentifier();
+        return identifier != null ? identifier.getText() : null;
+    }
+
+    @Override
+    public int getTextOffset() {
+        PsiElement identifier = getNameIdentifier();
+        return identifier != null ? identifier.getTextOffset() : super.getTextOffset();
+    }
+
+    @Override
+    public PsiElement setName(@NonNls @NotNull String name) throws IncorrectOperationException {
+        PsiElement identifier = getNameIdentifier();
+        if (identifier == null) {
+            throw new IncorrectOperationException("Element has no name to rename");
+        }
+        return BuddhistElementFactory.renameIdentifier(this, identifier, name);
+    }
+}
@@ -0,0 +1,11 @@
+package com.buddhist.lang.psi.impl;
+
+import com.buddhist.lang.psi.BuddhistParameter;
+import com.intellij.lang.ASTNode;
+import org.jetbrains.annotations.NotNull;
+
+public class BuddhistParameterImpl extends BuddhistNamedElementImplBase implements BuddhistParameter {
+    public BuddhistParameterImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+}
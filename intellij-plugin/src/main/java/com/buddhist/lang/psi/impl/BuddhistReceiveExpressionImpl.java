@@ -0,0 +1,19 @@
+package com.buddhist.lang.psi.impl;
+
+import com.buddhist.lang.psi.BuddhistCompositeElement;
+import com.buddhist.lang.psi.BuddhistReceiveExpression;
+import com.intellij.lang.ASTNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class BuddhistReceiveExpressionImpl extends BuddhistCompositeElementImpl implements BuddhistReceiveExpression {
+    public BuddhistReceiveExpressionImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    @Override
+    public BuddhistCompositeElement getChannel() {
+        return findChildByClass(BuddhistCompositeElement.class);
+    }
+}
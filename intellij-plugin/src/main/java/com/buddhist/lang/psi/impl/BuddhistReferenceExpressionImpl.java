@@ -0,0 +1,32 @@
+package com.buddhist.lang.psi.impl;
+
+import com.buddhist.lang.psi.BuddhistReferenceExpression;
+import com.buddhist.lang.resolve.BuddhistReference;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import org.jetbrains.annotations.NotNull;
+
+public class BuddhistReferenceExpressionImpl extends BuddhistCompositeElementImpl implements BuddhistReferenceExpression {
+    public BuddhistReferenceExpressionImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @NotNull
+    @Override
+    public PsiElement getIdentifier() {
+        return getFirstChild();
+    }
+
+    @NotNull
+    @Override
+    public String getReferenceName() {
+        return getIdentifier().getText();
+    }
+
+    @NotNull
+    @Override
+    public PsiReference getReference() {
+        return new BuddhistReference(this);
+    }
+}
@@ -0,0 +1,26 @@
+package com.buddhist.lang.psi.impl;
+
+import com.buddhist.lang.psi.BuddhistCompositeElement;
+import com.buddhist.lang.psi.BuddhistSendExpression;
+import com.intellij.lang.ASTNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class BuddhistSendExpressionImpl extends BuddhistCompositeElementImpl implements BuddhistSendExpression {
+    public BuddhistSendExpressionImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @NotNull
+    @Override
+    public BuddhistCompositeElement getChannel() {
+        return findNotNullChildByClass(BuddhistCompositeElement.class);
+    }
+
+    @Nullable
+    @Override
+    public BuddhistCompositeElement getValue() {
+        BuddhistCompositeElement[] operands = findChildrenByClass(BuddhistCompositeElement.class);
+        return operands.length > 1 ? operands[1] : null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.buddhist.lang.psi.impl;
+
+import com.buddhist.lang.psi.BuddhistCompositeElement;
+import com.buddhist.lang.psi.BuddhistSpawnExpression;
+import com.intellij.lang.ASTNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class BuddhistSpawnExpressionImpl extends BuddhistCompositeElementImpl implements BuddhistSpawnExpression {
+    public BuddhistSpawnExpressionImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    @Nullable
+    @Override
+    public BuddhistCompositeElement getSpawnedExpression() {
+        return findChildByClass(BuddhistCompositeElement.class);
+    }
+}
@@ -0,0 +1,128 @@
+package com.buddhist.lang.psi.stubs;
+
+import com.buddhist.lang.BuddhistLanguage;
+import com.buddhist.lang.psi.BuddhistDeclaration;
+import com.buddhist.lang.psi.BuddhistTypes;
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.LighterAST;
+import com.intellij.lang.LighterASTNode;
+import com.intellij.psi.impl.source.tree.LightTreeUtil;
+import com.intellij.psi.stubs.ILightStubElementType;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubIndexKey;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IFileElementType;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Stub element type shared by all top-level declarations. Only declarations directly in the file or
+ * directly under {@code export} get stubs; their names go into each of {@code indexKeys}. The light tree path
+ * must produce exactly the stubs the PSI path does.
+ */
+public class BuddhistDeclarationElementType extends ILightStubElementType<BuddhistDeclarationStub, BuddhistDeclaration> {
+    private final Function<ASTNode, BuddhistDeclaration> psiFromNode;
+    private final BiFunction<BuddhistDeclarationStub, IStubElementType<?, ?>, BuddhistDeclaration> psiFromStub;
+    private final StubIndexKey<String, BuddhistDeclaration>[] indexKeys;
+
+    @SafeVarargs
+    public BuddhistDeclarationElementType(@NotNull @NonNls String debugName,
+                                          @NotNull Function<ASTNode, BuddhistDeclaration> psiFromNode,
+                                          @NotNull BiFunction<BuddhistDeclarationStub, IStubElementType<?, ?>, BuddhistDeclaration> psiFromStub,
+                                          @NotNull StubIndexKey<String, BuddhistDeclaration>... indexKeys) {
+        super(debugName, BuddhistLanguage.INSTANCE);
+        this.psiFromNode = psiFromNode;
+        this.psiFromStub = psiFromStub;
+        this.indexKeys = indexKeys;
+    }
+
+    @NotNull
+    public BuddhistDeclaration createPsi(@NotNull ASTNode node) {
+        return psiFromNode.apply(node);
+    }
+
+    @Override
+    public BuddhistDeclaration createPsi(@NotNull BuddhistDeclarationStub stub) {
+        return psiFromStub.apply(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public BuddhistDeclarationStub createStub(@NotNull BuddhistDeclaration psi, StubElement<?> parentStub) {
+        return new BuddhistDeclarationStubImpl(parentStub, this, psi.getName());
+    }
+
+    @NotNull
+    @Override
+    public BuddhistDeclarationStub createStub(@NotNull LighterAST tree, @NotNull LighterASTNode node, @NotNull StubElement<?> parentStub) {
+        return new BuddhistDeclarationStubImpl(parentStub, this, lightName(tree, node));
+    }
+
+    @Override
+    public boolean shouldCreateStub(ASTNode node) {
+        ASTNode parent = node.getTreeParent();
+        return parent != null && isStubbedIn(parent.getElementType());
+    }
+
+    @Override
+    public boolean shouldCreateStub(@NotNull LighterAST tree, @NotNull LighterASTNode node, @NotNull StubElement<?> parentStub) {
+        LighterASTNode parent = tree.getParent(node);
+        return parent != null && isStubbedIn(parent.getTokenType());
+    }
+
+    private static boolean isStubbedIn(@NotNull IElementType parentType) {
+        return parentType instanceof IFileElementType || parentType == BuddhistTypes.EXPORT_DECLARATION;
+    }
+
+    // Mirrors getName() of the PSI: the first identifier, or for export the name of the exported declaration
+    @Nullable
+    private static String lightName(@NotNull LighterAST tree, @NotNull LighterASTNode node) {
+        if (node.getTokenType() == BuddhistTypes.EXPORT_DECLARATION) {
+            for (LighterASTNode child : tree.getChildren(node)) {
+                IElementType childType = child.getTokenType();
+                if (childType instanceof BuddhistDeclarationElementType && childType != BuddhistTypes.EXPORT_SPECIFIER) {
+                    return lightName(tree, child);
+                }
+            }
+            return null;
+        }
+        LighterASTNode identifier = LightTreeUtil.firstChildOfType(tree, node, BuddhistTypes.IDENTIFIER);
+        return identifier != null ? LightTreeUtil.toFilteredString(tree, identifier, null) : null;
+    }
+
+    @NotNull
+    @Override
+    public String getExternalId() {
+        return "buddhist." + this;
+    }
+
+    @Override
+    public void serialize(@NotNull BuddhistDeclarationStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getName());
+    }
+
+    @NotNull
+    @Override
+    public BuddhistDeclarationStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        return new BuddhistDeclarationStubImpl(parentStub, this, dataStream.readNameString());
+    }
+
+    @Override
+    public void indexStub(@NotNull BuddhistDeclarationStub stub, @NotNull IndexSink sink) {
+        String name = stub.getName();
+        if (name != null) {
+            for (StubIndexKey<String, BuddhistDeclaration> indexKey : indexKeys) {
+                sink.occurrence(indexKey, name);
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.buddhist.lang.psi.stubs;
+
+import com.buddhist.lang.psi.BuddhistDeclaration;
+import com.intellij.psi.stubs.NamedStub;
+
+public interface BuddhistDeclarationStub extends NamedStub<BuddhistDeclaration> {
+}
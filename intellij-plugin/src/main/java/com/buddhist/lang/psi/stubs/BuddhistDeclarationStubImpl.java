@@ -0,0 +1,14 @@
+package com.buddhist.lang.psi.stubs;
+
+import com.buddhist.lang.psi.BuddhistDeclaration;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.NamedStubBase;
+import com.intellij.psi.stubs.StubElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class BuddhistDeclarationStubImpl extends NamedStubBase<BuddhistDeclaration> implements BuddhistDeclarationStub {
+    public BuddhistDeclarationStubImpl(StubElement<?> parent, @NotNull IStubElementType<?, ?> elementType, @Nullable String name) {
+        super(parent, elementType, name);
+    }
+}
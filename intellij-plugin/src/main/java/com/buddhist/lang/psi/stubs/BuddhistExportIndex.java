@@ -0,0 +1,32 @@
+package com.buddhist.lang.psi.stubs;
+
+import com.buddhist.lang.psi.BuddhistDeclaration;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+// Exported declarations by exported name
+public class BuddhistExportIndex extends StringStubIndexExtension<BuddhistDeclaration> {
+    public static final StubIndexKey<String, BuddhistDeclaration> KEY = StubIndexKey.createIndexKey("buddhist.export");
+
+    @NotNull
+    @Override
+    public StubIndexKey<String, BuddhistDeclaration> getKey() {
+        return KEY;
+    }
+
+    @Override
+    public int getVersion() {
+        return super.getVersion() + BuddhistFileStubElementType.STUB_VERSION;
+    }
+
+    @NotNull
+    public static Collection<BuddhistDeclaration> find(@NotNull String name, @NotNull Project project, @NotNull GlobalSearchScope scope) {
+        return StubIndex.getElements(KEY, name, project, scope, BuddhistDeclaration.class);
+    }
+}
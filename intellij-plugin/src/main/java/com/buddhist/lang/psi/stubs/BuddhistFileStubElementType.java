@@ -0,0 +1,60 @@
+package com.buddhist.lang.psi.stubs;
+
+import com.buddhist.lang.BuddhistLanguage;
+import com.buddhist.lang.psi.BuddhistFile;
+import com.buddhist.lang.psi.BuddhistTypes;
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.LighterAST;
+import com.intellij.lang.LighterASTNode;
+import com.intellij.psi.StubBuilder;
+import com.intellij.psi.stubs.LightStubBuilder;
+import com.intellij.psi.stubs.PsiFileStub;
+import com.intellij.psi.tree.ILightStubFileElementType;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Stubs are built from the light tree when indexing: the parser runs over the token stream without creating
+ * AST or PSI, blocks stay unparsed tokens, and only the top level and export clauses are ever looked into.
+ */
+public class BuddhistFileStubElementType extends ILightStubFileElementType<PsiFileStub<BuddhistFile>> {
+    // Bump whenever the stub tree shape or the serialized format changes
+    public static final int STUB_VERSION = 4;
+
+    public BuddhistFileStubElementType() {
+        super("BUDDHIST_FILE", BuddhistLanguage.INSTANCE);
+    }
+
+    @Override
+    public int getStubVersion() {
+        return STUB_VERSION;
+    }
+
+    @NotNull
+    @Override
+    public String getExternalId() {
+        return "buddhist.FILE";
+    }
+
+    @Override
+    public StubBuilder getBuilder() {
+        return new LightStubBuilder() {
+            @Override
+            protected boolean skipChildProcessingWhenBuildingStubs(@NotNull ASTNode parent, @NotNull ASTNode node) {
+                return !hasStubbedChildren(node.getElementType());
+            }
+
+            @Override
+            protected boolean skipChildProcessingWhenBuildingStubs(@NotNull LighterAST tree, @NotNull LighterASTNode parent,
+                                                                   @NotNull LighterASTNode node) {
+                return !hasStubbedChildren(node.getTokenType());
+            }
+        };
+    }
+
+    // Stubs only exist directly in the file and directly under export. Descending anywhere else is wasted
+    // work, and would force lazy blocks to parse.
+    private static boolean hasStubbedChildren(@NotNull IElementType type) {
+        return type == BuddhistTypes.EXPORT_DECLARATION;
+    }
+}
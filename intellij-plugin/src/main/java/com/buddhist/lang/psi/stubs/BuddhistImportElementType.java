@@ -0,0 +1,106 @@
+package com.buddhist.lang.psi.stubs;
+
+import com.buddhist.lang.BuddhistLanguage;
+import com.buddhist.lang.psi.BuddhistImportDeclaration;
+import com.buddhist.lang.psi.BuddhistTypes;
+import com.buddhist.lang.psi.impl.BuddhistImportDeclarationImpl;
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.LighterAST;
+import com.intellij.lang.LighterASTNode;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.impl.source.tree.LightTreeUtil;
+import com.intellij.psi.stubs.ILightStubElementType;
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import com.intellij.psi.tree.IFileElementType;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Top-level imports keep their module path and imported names in the stub, so the module graph can be
+ * built from the stub index without parsing any file. The path goes into {@link BuddhistImportIndex}.
+ */
+public class BuddhistImportElementType extends ILightStubElementType<BuddhistImportStub, BuddhistImportDeclaration> {
+    public BuddhistImportElementType(@NotNull @NonNls String debugName) {
+        super(debugName, BuddhistLanguage.INSTANCE);
+    }
+
+    @Override
+    public BuddhistImportDeclaration createPsi(@NotNull BuddhistImportStub stub) {
+        return new BuddhistImportDeclarationImpl(stub, this);
+    }
+
+    @NotNull
+    @Override
+    public BuddhistImportStub createStub(@NotNull BuddhistImportDeclaration psi, StubElement<?> parentStub) {
+        return new BuddhistImportStubImpl(parentStub, this, psi.getPath(), psi.getImportedNames());
+    }
+
+    // Same path and names as BuddhistImportDeclarationImpl reads from the AST
+    @NotNull
+    @Override
+    public BuddhistImportStub createStub(@NotNull LighterAST tree, @NotNull LighterASTNode node, @NotNull StubElement<?> parentStub) {
+        LighterASTNode pathNode = LightTreeUtil.firstChildOfType(tree, node, BuddhistTypes.STRING);
+        String path = pathNode != null ? StringUtil.unquoteString(LightTreeUtil.toFilteredString(tree, pathNode, null)) : null;
+        List<String> names = new ArrayList<>();
+        for (LighterASTNode specifier : LightTreeUtil.getChildrenOfType(tree, node, BuddhistTypes.IMPORT_SPECIFIER)) {
+            LighterASTNode identifier = LightTreeUtil.firstChildOfType(tree, specifier, BuddhistTypes.IDENTIFIER);
+            names.add(identifier != null ? LightTreeUtil.toFilteredString(tree, identifier, null) : null);
+        }
+        return new BuddhistImportStubImpl(parentStub, this, path, names);
+    }
+
+    @Override
+    public boolean shouldCreateStub(ASTNode node) {
+        ASTNode parent = node.getTreeParent();
+        return parent != null && parent.getElementType() instanceof IFileElementType;
+    }
+
+    @Override
+    public boolean shouldCreateStub(@NotNull LighterAST tree, @NotNull LighterASTNode node, @NotNull StubElement<?> parentStub) {
+        LighterASTNode parent = tree.getParent(node);
+        return parent != null && parent.getTokenType() instanceof IFileElementType;
+    }
+
+    @NotNull
+    @Override
+    public String getExternalId() {
+        return "buddhist." + this;
+    }
+
+    @Override
+    public void serialize(@NotNull BuddhistImportStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getPath());
+        List<String> names = stub.getImportedNames();
+        dataStream.writeVarInt(names.size());
+        for (String name : names) {
+            dataStream.writeName(name);
+        }
+    }
+
+    @NotNull
+    @Override
+    public BuddhistImportStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        String path = dataStream.readNameString();
+        int count = dataStream.readVarInt();
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(dataStream.readNameString());
+        }
+        return new BuddhistImportStubImpl(parentStub, this, path, names);
+    }
+
+    @Override
+    public void indexStub(@NotNull BuddhistImportStub stub, @NotNull IndexSink sink) {
+        String path = stub.getPath();
+        if (path != null) {
+            sink.occurrence(BuddhistImportIndex.KEY, path);
+        }
+    }
+}
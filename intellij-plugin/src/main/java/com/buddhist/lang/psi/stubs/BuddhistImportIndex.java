@@ -0,0 +1,32 @@
+package com.buddhist.lang.psi.stubs;
+
+import com.buddhist.lang.psi.BuddhistImportDeclaration;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+// Import declarations by module path as written in the import
+public class BuddhistImportIndex extends StringStubIndexExtension<BuddhistImportDeclaration> {
+    public static final StubIndexKey<String, BuddhistImportDeclaration> KEY = StubIndexKey.createIndexKey("buddhist.import");
+
+    @NotNull
+    @Override
+    public StubIndexKey<String, BuddhistImportDeclaration> getKey() {
+        return KEY;
+    }
+
+    @Override
+    public int getVersion() {
+        return super.getVersion() + BuddhistFileStubElementType.STUB_VERSION;
+    }
+
+    @NotNull
+    public static Collection<BuddhistImportDeclaration> find(@NotNull String path, @NotNull Project project, @NotNull GlobalSearchScope scope) {
+        return StubIndex.getElements(KEY, path, project, scope, BuddhistImportDeclaration.class);
+    }
+}
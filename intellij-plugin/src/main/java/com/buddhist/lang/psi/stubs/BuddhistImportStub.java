@@ -0,0 +1,16 @@
+package com.buddhist.lang.psi.stubs;
+
+import com.buddhist.lang.psi.BuddhistImportDeclaration;
+import com.intellij.psi.stubs.StubElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+public interface BuddhistImportStub extends StubElement<BuddhistImportDeclaration> {
+    @Nullable
+    String getPath();
+
+    @NotNull
+    List<String> getImportedNames();
+}
@@ -0,0 +1,34 @@
+package com.buddhist.lang.psi.stubs;
+
+import com.buddhist.lang.psi.BuddhistImportDeclaration;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubBase;
+import com.intellij.psi.stubs.StubElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+public class BuddhistImportStubImpl extends StubBase<BuddhistImportDeclaration> implements BuddhistImportStub {
+    private final String path;
+    private final List<String> importedNames;
+
+    public BuddhistImportStubImpl(StubElement<?> parent, @NotNull IStubElementType<?, ?> elementType,
+                                  @Nullable String path, @NotNull List<String> importedNames) {
+        super(parent, elementType);
+        this.path = path;
+        this.importedNames = importedNames;
+    }
+
+    @Nullable
+    @Override
+    public String getPath() {
+        return path;
+    }
+
+    @NotNull
+    @Override
+    public List<String> getImportedNames() {
+        return importedNames;
+    }
+}
@@ -0,0 +1,41 @@
+package com.buddhist.lang.resolve;
+
+import com.buddhist.lang.psi.BuddhistExportSpecifier;
+import com.buddhist.lang.psi.BuddhistImportSpecifier;
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Import and export specifiers only stand for the declaration they name, so every reference resolves through
+ * them: a call of an imported function resolves to the function itself, and find usages and rename of the
+ * function reach the callers and specifiers of every importing file. A specifier whose target can't be found
+ * (a missing module, a name it doesn't export) is the result itself.
+ */
+final class BuddhistAliases {
+    private BuddhistAliases() {
+    }
+
+    @Nullable
+    static PsiElement follow(@Nullable PsiElement target) {
+        // Re-exports can form cycles between modules
+        List<PsiElement> seen = new ArrayList<>();
+        while (isAlias(target) && !seen.contains(target)) {
+            seen.add(target);
+            PsiElement next = target instanceof BuddhistImportSpecifier
+                    ? BuddhistImportSpecifierReference.resolveSpecifier((BuddhistImportSpecifier) target)
+                    : BuddhistExportSpecifierReference.resolveSpecifier((BuddhistExportSpecifier) target);
+            if (next == null) {
+                break;
+            }
+            target = next;
+        }
+        return target;
+    }
+
+    private static boolean isAlias(@Nullable PsiElement element) {
+        return element instanceof BuddhistImportSpecifier || element instanceof BuddhistExportSpecifier;
+    }
+}
@@ -0,0 +1,37 @@
+package com.buddhist.lang.resolve;
+
+import com.buddhist.lang.psi.BuddhistElementFactory;
+import com.buddhist.lang.psi.BuddhistExportSpecifier;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiReferenceBase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+// The a in export {a}, resolved to the declaration it exports, following it into the module it was imported from
+public class BuddhistExportSpecifierReference extends PsiReferenceBase<BuddhistExportSpecifier> {
+    public BuddhistExportSpecifierReference(@NotNull BuddhistExportSpecifier element) {
+        super(element, TextRange.from(0, element.getTextLength()));
+    }
+
+    @Nullable
+    @Override
+    public PsiElement resolve() {
+        return BuddhistAliases.follow(resolveSpecifier(myElement));
+    }
+
+    // The top-level element of the file named by the specifier, which may be an import specifier
+    @Nullable
+    static PsiElement resolveSpecifier(@NotNull BuddhistExportSpecifier specifier) {
+        String name = specifier.getName();
+        PsiFile file = specifier.getContainingFile();
+        return name != null && file != null ? BuddhistScopeTree.getInstance(file).resolveTopLevel(name, specifier.getTextOffset()) : null;
+    }
+
+    @Override
+    public PsiElement handleElementRename(@NotNull String newElementName) {
+        PsiElement identifier = myElement.getNameIdentifier();
+        return identifier != null ? BuddhistElementFactory.renameIdentifier(myElement, identifier, newElementName) : myElement;
+    }
+}
@@ -0,0 +1,68 @@
+package com.buddhist.lang.resolve;
+
+import com.buddhist.lang.psi.BuddhistElementFactory;
+import com.buddhist.lang.psi.BuddhistImportDeclaration;
+import com.buddhist.lang.psi.BuddhistImportSpecifier;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiReferenceBase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+// The a in import {a} from "path", resolved to the declaration the imported module exports as a
+public class BuddhistImportSpecifierReference extends PsiReferenceBase<BuddhistImportSpecifier> {
+    public BuddhistImportSpecifierReference(@NotNull BuddhistImportSpecifier element) {
+        super(element, rangeOfName(element));
+    }
+
+    @Nullable
+    @Override
+    public PsiElement resolve() {
+        return BuddhistAliases.follow(resolveSpecifier(myElement));
+    }
+
+    // What the imported module exports under the specifier's name, which may itself be an export specifier
+    @Nullable
+    static PsiElement resolveSpecifier(@NotNull BuddhistImportSpecifier specifier) {
+        String name = specifier.getName();
+        PsiFile module = resolveImportedModule(specifier.getParent());
+        return name != null && module != null ? BuddhistModuleGraph.getExports(module).get(name) : null;
+    }
+
+    @NotNull
+    @Override
+    public Object[] getVariants() {
+        PsiFile module = resolveImportedModule(myElement.getParent());
+        return module != null ? BuddhistModuleGraph.getExports(module).keySet().toArray() : EMPTY_ARRAY;
+    }
+
+    @Override
+    public PsiElement handleElementRename(@NotNull String newElementName) {
+        PsiElement identifier = myElement.getNameIdentifier();
+        return identifier != null ? BuddhistElementFactory.renameIdentifier(myElement, identifier, newElementName) : myElement;
+    }
+
+    @Nullable
+    static PsiFile resolveImportedModule(@Nullable PsiElement importDeclaration) {
+        if (!(importDeclaration instanceof BuddhistImportDeclaration)) {
+            return null;
+        }
+        String path = ((BuddhistImportDeclaration) importDeclaration).getPath();
+        PsiFile file = importDeclaration.getContainingFile();
+        if (path == null || file == null) {
+            return null;
+        }
+        VirtualFile module = BuddhistModuleGraph.getInstance(file.getProject()).resolveModule(file, path);
+        return module != null ? PsiManager.getInstance(file.getProject()).findFile(module) : null;
+    }
+
+    @NotNull
+    private static TextRange rangeOfName(@NotNull BuddhistImportSpecifier element) {
+        PsiElement identifier = element.getNameIdentifier();
+        return identifier != null ? TextRange.from(identifier.getStartOffsetInParent(), identifier.getTextLength())
+                                  : TextRange.from(0, element.getTextLength());
+    }
+}
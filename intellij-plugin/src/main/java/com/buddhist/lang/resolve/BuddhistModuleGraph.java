@@ -0,0 +1,178 @@
+package com.buddhist.lang.resolve;
+
+import com.buddhist.lang.psi.BuddhistDeclaration;
+import com.buddhist.lang.psi.BuddhistExportDeclaration;
+import com.buddhist.lang.psi.BuddhistExportSpecifier;
+import com.buddhist.lang.psi.BuddhistImportDeclaration;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.SimpleModificationTracker;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Which module each import of each file points to. Entries are kept per importing file and are recomputed
+ * only when that file's PSI changes or when {@link BuddhistModuleGraphListener} reports a module or directory
+ * under a content root coming, going or moving; nothing is ever rebuilt for the whole project at once. Imports
+ * and exports are read from stubs, so no file is parsed.
+ */
+public final class BuddhistModuleGraph {
+    private static final String EXTENSION = ".bl";
+
+    private final Project project;
+    private final Map<VirtualFile, ModuleEntry> entries = new ConcurrentHashMap<>();
+    // Counts changes that can make an import path point somewhere else
+    private final SimpleModificationTracker modulesTracker = new SimpleModificationTracker();
+    private volatile long prunedModulesStamp = -1;
+
+    public BuddhistModuleGraph(@NotNull Project project) {
+        this.project = project;
+    }
+
+    @NotNull
+    public static BuddhistModuleGraph getInstance(@NotNull Project project) {
+        return project.getService(BuddhistModuleGraph.class);
+    }
+
+    // The module an import path of file refers to, or null when it doesn't exist
+    @Nullable
+    public VirtualFile resolveModule(@NotNull PsiFile file, @NotNull String path) {
+        return getEntry(file).modules.get(path);
+    }
+
+    // The modules file imports, in import order, without duplicates or unresolved paths
+    @NotNull
+    public List<VirtualFile> getDependencies(@NotNull PsiFile file) {
+        return getEntry(file).dependencies;
+    }
+
+    static boolean isModulePath(@NotNull String path) {
+        return path.endsWith(EXTENSION);
+    }
+
+    // Called by BuddhistModuleGraphListener; every entry is checked against the tracker on its next use
+    void modulesChanged() {
+        modulesTracker.incModificationCount();
+    }
+
+    // Exported names of a module, mapped to the exported declaration or to the export {...} specifier
+    @NotNull
+    public static Map<String, BuddhistDeclaration> getExports(@NotNull PsiFile module) {
+        return CachedValuesManager.getCachedValue(module, () -> CachedValueProvider.Result.create(computeExports(module), module));
+    }
+
+    @NotNull
+    private ModuleEntry getEntry(@NotNull PsiFile file) {
+        PsiFile original = file.getOriginalFile();
+        VirtualFile virtualFile = original.getVirtualFile();
+        long psiStamp = original.getModificationStamp();
+        long modulesStamp = modulesTracker.getModificationCount();
+        if (virtualFile == null) {
+            return computeEntry(original, null, psiStamp, modulesStamp);
+        }
+        if (prunedModulesStamp != modulesStamp) {
+            // Entries of deleted files are only dropped once modules have actually come and gone
+            entries.keySet().removeIf(key -> !key.isValid());
+            prunedModulesStamp = modulesStamp;
+        }
+        ModuleEntry entry = entries.get(virtualFile);
+        if (entry == null || entry.psiStamp != psiStamp || entry.modulesStamp != modulesStamp) {
+            entry = computeEntry(original, virtualFile.getParent(), psiStamp, modulesStamp);
+            entries.put(virtualFile, entry);
+        }
+        return entry;
+    }
+
+    @NotNull
+    private ModuleEntry computeEntry(@NotNull PsiFile file, @Nullable VirtualFile directory, long psiStamp, long modulesStamp) {
+        Map<String, VirtualFile> modules = new LinkedHashMap<>();
+        for (BuddhistImportDeclaration declaration : PsiTreeUtil.getStubChildrenOfTypeAsList(file, BuddhistImportDeclaration.class)) {
+            String path = declaration.getPath();
+            if (path != null && !modules.containsKey(path)) {
+                VirtualFile module = findModule(directory, path);
+                if (module != null) {
+                    modules.put(path, module);
+                }
+            }
+        }
+        List<VirtualFile> dependencies = new ArrayList<>();
+        for (VirtualFile module : modules.values()) {
+            if (!dependencies.contains(module)) {
+                dependencies.add(module);
+            }
+        }
+        return new ModuleEntry(Collections.unmodifiableMap(modules), Collections.unmodifiableList(dependencies), psiStamp, modulesStamp);
+    }
+
+    // Relative to the importing file first, then to each content root; the .bl extension is optional
+    @Nullable
+    private VirtualFile findModule(@Nullable VirtualFile directory, @NotNull String path) {
+        if (directory != null) {
+            VirtualFile module = findModuleIn(directory, path);
+            if (module != null) {
+                return module;
+            }
+        }
+        for (VirtualFile root : ProjectRootManager.getInstance(project).getContentRoots()) {
+            VirtualFile module = findModuleIn(root, path);
+            if (module != null) {
+                return module;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static VirtualFile findModuleIn(@NotNull VirtualFile base, @NotNull String path) {
+        VirtualFile file = VfsUtilCore.findRelativeFile(path, base);
+        if ((file == null || file.isDirectory()) && !path.endsWith(EXTENSION)) {
+            file = VfsUtilCore.findRelativeFile(path + EXTENSION, base);
+        }
+        return file != null && !file.isDirectory() ? file : null;
+    }
+
+    @NotNull
+    private static Map<String, BuddhistDeclaration> computeExports(@NotNull PsiFile module) {
+        Map<String, BuddhistDeclaration> exports = new HashMap<>();
+        for (BuddhistExportDeclaration export : PsiTreeUtil.getStubChildrenOfTypeAsList(module, BuddhistExportDeclaration.class)) {
+            BuddhistDeclaration declaration = export.getExportedDeclaration();
+            if (declaration != null && declaration.getName() != null) {
+                exports.putIfAbsent(declaration.getName(), declaration);
+            }
+            for (BuddhistExportSpecifier specifier : export.getExportSpecifiers()) {
+                if (specifier.getName() != null) {
+                    exports.putIfAbsent(specifier.getName(), specifier);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(exports);
+    }
+
+    private static final class ModuleEntry {
+        final Map<String, VirtualFile> modules;
+        final List<VirtualFile> dependencies;
+        final long psiStamp;
+        final long modulesStamp;
+
+        ModuleEntry(Map<String, VirtualFile> modules, List<VirtualFile> dependencies, long psiStamp, long modulesStamp) {
+            this.modules = modules;
+            this.dependencies = dependencies;
+            this.psiStamp = psiStamp;
+            this.modulesStamp = modulesStamp;
+        }
+    }
+}
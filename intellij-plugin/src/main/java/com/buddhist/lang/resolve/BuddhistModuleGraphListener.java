@@ -0,0 +1,86 @@
+package com.buddhist.lang.resolve;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileContentChangeEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Tells {@link BuddhistModuleGraph} when an import path may point somewhere else: a .bl file or a directory under
+ * a content root was created, deleted, moved or renamed, or the content roots themselves changed. Edits inside
+ * files, other files and anything outside the project leave the graph alone.
+ */
+public final class BuddhistModuleGraphListener implements BulkFileListener, ModuleRootListener {
+    private final Project project;
+
+    public BuddhistModuleGraphListener(@NotNull Project project) {
+        this.project = project;
+    }
+
+    @Override
+    public void after(@NotNull List<? extends VFileEvent> events) {
+        VirtualFile[] roots = null;
+        for (VFileEvent event : events) {
+            if (event instanceof VFileContentChangeEvent
+                    || event instanceof VFilePropertyChangeEvent && !((VFilePropertyChangeEvent) event).isRename()
+                    || !isModuleOrDirectory(event)) {
+                continue;
+            }
+            if (roots == null) {
+                roots = ProjectRootManager.getInstance(project).getContentRoots();
+            }
+            if (isUnder(roots, event.getPath()) || isUnder(roots, getOldPath(event))) {
+                BuddhistModuleGraph.getInstance(project).modulesChanged();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void rootsChanged(@NotNull ModuleRootEvent event) {
+        BuddhistModuleGraph.getInstance(project).modulesChanged();
+    }
+
+    // A renamed file counts if either name is a module's
+    private static boolean isModuleOrDirectory(@NotNull VFileEvent event) {
+        if (event instanceof VFileCreateEvent) {
+            VFileCreateEvent create = (VFileCreateEvent) event;
+            return create.isDirectory() || BuddhistModuleGraph.isModulePath(create.getChildName());
+        }
+        VirtualFile file = event.getFile();
+        return file != null && file.isDirectory()
+                || BuddhistModuleGraph.isModulePath(event.getPath())
+                || BuddhistModuleGraph.isModulePath(getOldPath(event));
+    }
+
+    @NotNull
+    private static String getOldPath(@NotNull VFileEvent event) {
+        if (event instanceof VFileMoveEvent) {
+            return ((VFileMoveEvent) event).getOldPath();
+        }
+        if (event instanceof VFilePropertyChangeEvent) {
+            return ((VFilePropertyChangeEvent) event).getOldPath();
+        }
+        return event.getPath();
+    }
+
+    private static boolean isUnder(@NotNull VirtualFile[] roots, @NotNull String path) {
+        for (VirtualFile root : roots) {
+            if (FileUtil.isAncestor(root.getPath(), path, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.buddhist.lang.resolve;
+
+import com.buddhist.lang.psi.BuddhistImportDeclaration;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReferenceBase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+// The "path" of an import, resolved to the module file
+public class BuddhistModulePathReference extends PsiReferenceBase<BuddhistImportDeclaration> {
+    public BuddhistModulePathReference(@NotNull BuddhistImportDeclaration element, @NotNull PsiElement path) {
+        super(element, rangeInsideQuotes(path));
+    }
+
+    @Nullable
+    @Override
+    public PsiElement resolve() {
+        return BuddhistImportSpecifierReference.resolveImportedModule(myElement);
+    }
+
+    @NotNull
+    private static TextRange rangeInsideQuotes(@NotNull PsiElement path) {
+        int start = path.getStartOffsetInParent();
+        int length = path.getTextLength();
+        return length >= 2 ? TextRange.create(start + 1, start + length - 1) : TextRange.from(start, length);
+    }
+}
@@ -0,0 +1,29 @@
+package com.buddhist.lang.resolve;
+
+import com.buddhist.lang.psi.BuddhistElementFactory;
+import com.buddhist.lang.psi.BuddhistReferenceExpression;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiReferenceBase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+// A bare name, resolved through the scope tree of its file and on through the specifier of an imported name
+public class BuddhistReference extends PsiReferenceBase<BuddhistReferenceExpression> {
+    public BuddhistReference(@NotNull BuddhistReferenceExpression element) {
+        super(element, TextRange.from(0, element.getTextLength()));
+    }
+
+    @Nullable
+    @Override
+    public PsiElement resolve() {
+        PsiFile file = myElement.getContainingFile();
+        return file != null ? BuddhistAliases.follow(BuddhistScopeTree.getInstance(file).resolve(myElement)) : null;
+    }
+
+    @Override
+    public PsiElement handleElementRename(@NotNull String newElementName) {
+        return BuddhistElementFactory.renameIdentifier(myElement, myElement.getIdentifier(), newElementName);
+    }
+}
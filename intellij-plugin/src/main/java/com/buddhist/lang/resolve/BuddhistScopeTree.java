@@ -0,0 +1,233 @@
+package com.buddhist.lang.resolve;
+
+import com.buddhist.lang.psi.BuddhistReferenceExpression;
+import com.buddhist.lang.psi.BuddhistTypes;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiNamedElement;
+import com.intellij.psi.impl.source.tree.LeafElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.Processor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Scopes of one file and the resolve result of every name reference in it. Built in a single walk the
+ * first time anything in the file is resolved and cached until the file changes, so highlighting, find
+ * usages and rename all read the same result instead of each walking the tree.
+ */
+public final class BuddhistScopeTree {
+    // Elements that open a scope for their contents. A function's parameters live in the function's scope.
+    private static final TokenSet SCOPES = TokenSet.create(
+            BuddhistTypes.BLOCK, BuddhistTypes.FUNCTION_DECLARATION, BuddhistTypes.FUNCTION_LITERAL,
+            BuddhistTypes.FOR_STATEMENT, BuddhistTypes.CATCH_CLAUSE, BuddhistTypes.CLASS_BODY
+    );
+    // Elements that declare their name in the scope they appear in
+    private static final TokenSet DECLARATIONS = TokenSet.create(
+            BuddhistTypes.LET_STATEMENT, BuddhistTypes.CONST_DECLARATION, BuddhistTypes.PARAMETER,
+            BuddhistTypes.FUNCTION_DECLARATION, BuddhistTypes.CLASS_DECLARATION, BuddhistTypes.IMPORT_SPECIFIER
+    );
+
+    private final Scope fileScope;
+    // Every scope in document order of its start
+    private final List<Scope> scopes;
+    private final Map<PsiElement, PsiElement> resolved;
+
+    private BuddhistScopeTree(@NotNull Scope fileScope, @NotNull List<Scope> scopes, @NotNull Map<PsiElement, PsiElement> resolved) {
+        this.fileScope = fileScope;
+        this.scopes = scopes;
+        this.resolved = resolved;
+    }
+
+    @NotNull
+    public static BuddhistScopeTree getInstance(@NotNull PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, () -> CachedValueProvider.Result.create(build(file), file));
+    }
+
+    // The declaration a reference expression of this file resolves to, or null for an unresolved name
+    @Nullable
+    public PsiElement resolve(@NotNull BuddhistReferenceExpression reference) {
+        return resolved.get(reference);
+    }
+
+    // A top-level declaration of this file, e.g. the target of an export {name} clause
+    @Nullable
+    public PsiElement resolveTopLevel(@NotNull String name, int offset) {
+        return fileScope.find(name, offset);
+    }
+
+    // Declarations visible at offset, innermost scope first. A name shadowed by an inner scope is reported once.
+    public boolean processVisibleDeclarations(int offset, @NotNull Processor<? super PsiNamedElement> processor) {
+        Set<String> seen = new HashSet<>();
+        for (Scope scope = innermostScope(offset); scope != null; scope = scope.parent) {
+            if (scope.declarations == null) {
+                continue;
+            }
+            for (String name : scope.declarations.keySet()) {
+                if (seen.add(name) && !processor.process((PsiNamedElement) scope.find(name, offset))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Any scope starting before offset lies inside the innermost scope containing it, so the last such
+    // scope is found by binary search and the containing one among its ancestors
+    @NotNull
+    private Scope innermostScope(int offset) {
+        int low = 0;
+        int high = scopes.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (scopes.get(middle).startOffset < offset) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        Scope scope = scopes.get(low);
+        while (scope.parent != null && !scope.contains(offset)) {
+            scope = scope.parent;
+        }
+        return scope;
+    }
+
+    @NotNull
+    private static BuddhistScopeTree build(@NotNull PsiFile file) {
+        Scope fileScope = new Scope(null, -1, Integer.MAX_VALUE);
+        List<Scope> allScopes = new ArrayList<>();
+        allScopes.add(fileScope);
+        List<BuddhistReferenceExpression> references = new ArrayList<>();
+        List<Scope> referenceScopes = new ArrayList<>();
+
+        // Iterative so deeply nested files can't overflow the stack; children are pushed in reverse to
+        // visit them in document order. Lazy blocks are expanded on the way.
+        ArrayDeque<ASTNode> nodes = new ArrayDeque<>();
+        ArrayDeque<Scope> scopes = new ArrayDeque<>();
+        for (ASTNode child : children(file.getNode())) {
+            nodes.push(child);
+            scopes.push(fileScope);
+        }
+        while (!nodes.isEmpty()) {
+            ASTNode node = nodes.pop();
+            Scope scope = scopes.pop();
+            IElementType type = node.getElementType();
+            PsiElement psi = node.getPsi();
+
+            if (type == BuddhistTypes.REFERENCE_EXPRESSION && psi instanceof BuddhistReferenceExpression) {
+                references.add((BuddhistReferenceExpression) psi);
+                referenceScopes.add(scope);
+            } else if (DECLARATIONS.contains(type) && psi instanceof PsiNamedElement && !isMember(node)) {
+                scope.declare((PsiNamedElement) psi, node.getStartOffset());
+            }
+
+            Scope childScope = scope;
+            if (SCOPES.contains(type)) {
+                int start = node.getStartOffset();
+                childScope = new Scope(scope, start, start + node.getTextLength());
+                allScopes.add(childScope);
+            }
+            for (ASTNode child : children(node)) {
+                nodes.push(child);
+                scopes.push(childScope);
+            }
+        }
+
+        Map<PsiElement, PsiElement> resolved = new IdentityHashMap<>();
+        for (int i = 0; i < references.size(); i++) {
+            BuddhistReferenceExpression reference = references.get(i);
+            int offset = reference.getTextOffset();
+            String name = reference.getReferenceName();
+            for (Scope scope = referenceScopes.get(i); scope != null; scope = scope.parent) {
+                PsiElement target = scope.find(name, offset);
+                if (target != null) {
+                    resolved.put(reference, target);
+                    break;
+                }
+            }
+        }
+        return new BuddhistScopeTree(fileScope, allScopes, resolved);
+    }
+
+    // Methods are reached through this.name, never as bare names
+    private static boolean isMember(@NotNull ASTNode node) {
+        ASTNode parent = node.getTreeParent();
+        return parent != null && parent.getElementType() == BuddhistTypes.CLASS_BODY;
+    }
+
+    @NotNull
+    private static List<ASTNode> children(@NotNull ASTNode node) {
+        List<ASTNode> children = new ArrayList<>();
+        for (ASTNode child = node.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+            if (!(child instanceof LeafElement)) {
+                children.add(child);
+            }
+        }
+        Collections.reverse(children);
+        return children;
+    }
+
+    private static final class Scope {
+        final Scope parent;
+        final int startOffset;
+        final int endOffset;
+        private Map<String, List<PsiNamedElement>> declarations;
+        private Map<PsiNamedElement, Integer> offsets;
+
+        Scope(@Nullable Scope parent, int startOffset, int endOffset) {
+            this.parent = parent;
+            this.startOffset = startOffset;
+            this.endOffset = endOffset;
+        }
+
+        // The end is inclusive so a caret at the end of an unclosed block is still inside it
+        boolean contains(int offset) {
+            return startOffset < offset && offset <= endOffset;
+        }
+
+        void declare(@NotNull PsiNamedElement declaration, int offset) {
+            String name = declaration.getName();
+            if (name == null) {
+                return;
+            }
+            if (declarations == null) {
+                declarations = new HashMap<>();
+                offsets = new IdentityHashMap<>();
+            }
+            declarations.computeIfAbsent(name, key -> new ArrayList<>(1)).add(declaration);
+            offsets.put(declaration, offset);
+        }
+
+        // The last declaration of name before offset; declarations are visible in their whole scope
+        // (functions may call functions defined below them), so failing that, the first one after it
+        @Nullable
+        PsiElement find(@NotNull String name, int offset) {
+            List<PsiNamedElement> candidates = declarations != null ? declarations.get(name) : null;
+            if (candidates == null) {
+                return null;
+            }
+            PsiNamedElement best = candidates.get(0);
+            for (PsiNamedElement candidate : candidates) {
+                if (offsets.get(candidate) <= offset) {
+                    best = candidate;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.buddhist.lang.lexer;
+
+import com.buddhist.lang.psi.BuddhistTokenSets;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+// Compares token counts over examples/ with the Go lexer's, recorded by pkg/lexer/golden_test.go
+public class BuddhistLexerGoldenTest {
+    private static final String FIXTURE = "/lexer/go-token-counts.txt";
+
+    @Test
+    public void testTokenCountsMatchGoLexer() throws IOException {
+        Path examples = Paths.get(System.getProperty("buddhist.examples.dir", "../examples"));
+        Map<String, Integer> expected = readFixture();
+        Map<String, Integer> actual = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(examples)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".bl")).collect(Collectors.toList())) {
+                String name = examples.relativize(file).toString().replace('\\', '/');
+                actual.put(name, countTokens(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)));
+            }
+        }
+        assertEquals("token counts differ from the Go lexer; if examples/ changed, regenerate " + FIXTURE
+                + " with go test ./pkg/lexer -run TestGoldenTokenCounts -update", expected, actual);
+    }
+
+    // Counts what the Go lexer would: no whitespace or comments, and a multi-line string is one token
+    // even though this lexer emits it one line at a time
+    private static int countTokens(String text) {
+        BuddhistLexerSimple lexer = new BuddhistLexerSimple();
+        lexer.start(text, 0, text.length(), BuddhistLexerSimple.STATE_DEFAULT);
+        int count = 0;
+        for (; lexer.getTokenType() != null; lexer.advance()) {
+            IElementType type = lexer.getTokenType();
+            if (type != TokenType.WHITE_SPACE && !BuddhistTokenSets.COMMENTS.contains(type)
+                    && lexer.getState() != BuddhistLexerSimple.STATE_IN_STRING) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Map<String, Integer> readFixture() throws IOException {
+        InputStream stream = BuddhistLexerGoldenTest.class.getResourceAsStream(FIXTURE);
+        assertNotNull(FIXTURE, stream);
+        Map<String, Integer> counts = new TreeMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int space = line.lastIndexOf(' ');
+                counts.put(line.substring(0, space), Integer.parseInt(line.substring(space + 1)));
+            }
+        }
+        return counts;
+    }
+}
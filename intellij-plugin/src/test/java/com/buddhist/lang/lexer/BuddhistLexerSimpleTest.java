@@ -0,0 +1,208 @@
+package com.buddhist.lang.lexer;
+
+import com.buddhist.lang.psi.BuddhistTypes;
+import com.intellij.psi.tree.IElementType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BuddhistLexerSimpleTest {
+    private static final String SOURCE =
+            "// header comment\n" +
+            "place greeting = \"hello\\n\\\"world\\\"\";\n" +
+            "/* a block comment\n" +
+            "   spanning several\n" +
+            "   lines */\n" +
+            "fn add(a, b) {\n" +
+            "    return a + b * 2.5;\n" +
+            "}\n" +
+            "place text = \"first line\n" +
+            "second line\";\n" +
+            "place ch = channel(1);\n" +
+            "ch <- add(1, 2);\n" +
+            "if (x >= 10 && y != 3) { println(x); }\n";
+
+    @Test
+    public void testKeywordsAndNearMisses() {
+        assertEquals(BuddhistTypes.FUNCTION, lex("fn", 0).get(0).type);
+        assertEquals(BuddhistTypes.CONTINUE, lex("continue", 0).get(0).type);
+        assertEquals(BuddhistTypes.FINALLY, lex("finally", 0).get(0).type);
+        assertEquals(BuddhistTypes.CLASS, lex("class", 0).get(0).type);
+        assertEquals(BuddhistTypes.CONST, lex("const", 0).get(0).type);
+        assertEquals(BuddhistTypes.IDENTIFIER, lex("f", 0).get(0).type);
+        assertEquals(BuddhistTypes.IDENTIFIER, lex("fnx", 0).get(0).type);
+        assertEquals(BuddhistTypes.IDENTIFIER, lex("Class", 0).get(0).type);
+        assertEquals(BuddhistTypes.IDENTIFIER, lex("clash", 0).get(0).type);
+        assertEquals(BuddhistTypes.IDENTIFIER, lex("continued", 0).get(0).type);
+        assertEquals(BuddhistTypes.IDENTIFIER, lex("_if", 0).get(0).type);
+    }
+
+    @Test
+    public void testStatesInsideMultiLineConstructs() {
+        List<Token> tokens = lex("/* one\ntwo */ \"a\nb\" x", 0);
+
+        assertEquals(new Token(0, 7, BuddhistTypes.BLOCK_COMMENT, BuddhistLexerSimple.STATE_DEFAULT), tokens.get(0));
+        assertEquals(new Token(7, 13, BuddhistTypes.BLOCK_COMMENT, BuddhistLexerSimple.STATE_IN_BLOCK_COMMENT), tokens.get(1));
+        assertEquals(new Token(14, 17, BuddhistTypes.STRING, BuddhistLexerSimple.STATE_DEFAULT), tokens.get(3));
+        assertEquals(new Token(17, 19, BuddhistTypes.STRING, BuddhistLexerSimple.STATE_IN_STRING), tokens.get(4));
+        assertEquals(new Token(20, 21, BuddhistTypes.IDENTIFIER, BuddhistLexerSimple.STATE_DEFAULT), tokens.get(6));
+    }
+
+    @Test
+    public void testUnterminatedConstructsRunToEndOfBuffer() {
+        List<Token> comment = lex("x /* never\nclosed", 0);
+        assertEquals(BuddhistTypes.BLOCK_COMMENT, comment.get(comment.size() - 1).type);
+        assertEquals(17, comment.get(comment.size() - 1).end);
+
+        List<Token> string = lex("x \"never\nclosed", 0);
+        assertEquals(BuddhistTypes.STRING, string.get(string.size() - 1).type);
+        assertEquals(15, string.get(string.size() - 1).end);
+    }
+
+    @Test
+    public void testRestartAtAnyTokenMatchesFullLex() {
+        List<Token> full = lex(SOURCE, 0);
+        for (int i = 0; i < full.size(); i++) {
+            Token restart = full.get(i);
+            List<Token> resumed = lex(SOURCE, restart.start, restart.state);
+            assertEquals("restart at " + restart, full.subList(i, full.size()), resumed);
+        }
+    }
+
+    @Test
+    public void testIncrementalRelexMatchesFullRelex() {
+        String[] insertions = {"/*", "*/", "\"", "\\", "\n", "x", "12.", "5", "<-", " ", "//"};
+        Random random = new Random(42);
+        String text = SOURCE;
+        List<Token> tokens = lex(text, 0);
+
+        for (int i = 0; i < 2000; i++) {
+            int start = random.nextInt(text.length() + 1);
+            int removed = random.nextInt(3) == 0 ? Math.min(random.nextInt(4), text.length() - start) : 0;
+            String inserted = random.nextBoolean() ? insertions[random.nextInt(insertions.length)] : "";
+            String newText = text.substring(0, start) + inserted + text.substring(start + removed);
+
+            List<Token> incremental = relex(tokens, newText, start, start + removed, start + inserted.length());
+            List<Token> expected = lex(newText, 0);
+            assertEquals("edit #" + i + " at " + start, expected, incremental);
+
+            text = newText;
+            tokens = incremental;
+        }
+    }
+
+    @Test
+    public void testEditInsideLongCommentOnlyRelexesNearby() {
+        StringBuilder builder = new StringBuilder("/*\n");
+        for (int i = 0; i < 5000; i++) {
+            builder.append(" * generated line ").append(i).append('\n');
+        }
+        builder.append(" */\nplace x = 1;\n");
+        String text = builder.toString();
+        List<Token> tokens = lex(text, 0);
+
+        int editOffset = text.indexOf("line 2500") + 5;
+        String newText = text.substring(0, editOffset) + "edited " + text.substring(editOffset);
+        int[] relexed = new int[1];
+        List<Token> incremental = relex(tokens, newText, editOffset, editOffset, editOffset + 7, relexed);
+
+        assertEquals(lex(newText, 0), incremental);
+        assertTrue("relexed " + relexed[0] + " tokens", relexed[0] <= 4);
+    }
+
+    private static List<Token> relex(List<Token> oldTokens, String newText, int editStart, int oldEditEnd, int newEditEnd) {
+        return relex(oldTokens, newText, editStart, oldEditEnd, newEditEnd, new int[1]);
+    }
+
+    // Mirrors what the editor highlighter does: restart from the state recorded at a token shortly before the edit
+    // and stop as soon as the new token stream lines up with the old one again (same offset and same state).
+    private static List<Token> relex(List<Token> oldTokens, String newText, int editStart, int oldEditEnd, int newEditEnd,
+                                     int[] relexedCount) {
+        int shift = newEditEnd - oldEditEnd;
+        int index = 0;
+        while (index < oldTokens.size() && oldTokens.get(index).end < editStart) {
+            index++;
+        }
+        // Step back so the lexer's lookahead past the previous token end is covered as well
+        index = Math.max(0, index - 2);
+
+        List<Token> result = new ArrayList<>(oldTokens.subList(0, index));
+        int restartOffset = index < oldTokens.size() ? oldTokens.get(index).start : newText.length();
+        int restartState = index < oldTokens.size() ? oldTokens.get(index).state : BuddhistLexerSimple.STATE_DEFAULT;
+
+        BuddhistLexerSimple lexer = new BuddhistLexerSimple();
+        lexer.start(newText, restartOffset, newText.length(), restartState);
+        int oldIndex = index;
+        while (lexer.getTokenType() != null) {
+            int start = lexer.getTokenStart();
+            if (start > newEditEnd) {
+                while (oldIndex < oldTokens.size() && oldTokens.get(oldIndex).start + shift < start) {
+                    oldIndex++;
+                }
+                if (oldIndex < oldTokens.size() && oldTokens.get(oldIndex).start + shift == start &&
+                    oldTokens.get(oldIndex).state == lexer.getState()) {
+                    for (Token old : oldTokens.subList(oldIndex, oldTokens.size())) {
+                        result.add(new Token(old.start + shift, old.end + shift, old.type, old.state));
+                    }
+                    return result;
+                }
+            }
+            result.add(new Token(start, lexer.getTokenEnd(), lexer.getTokenType(), lexer.getState()));
+            relexedCount[0]++;
+            lexer.advance();
+        }
+        return result;
+    }
+
+    private static List<Token> lex(String text, int startOffset) {
+        return lex(text, startOffset, BuddhistLexerSimple.STATE_DEFAULT);
+    }
+
+    private static List<Token> lex(String text, int startOffset, int initialState) {
+        BuddhistLexerSimple lexer = new BuddhistLexerSimple();
+        lexer.start(text, startOffset, text.length(), initialState);
+        List<Token> tokens = new ArrayList<>();
+        while (lexer.getTokenType() != null) {
+            tokens.add(new Token(lexer.getTokenStart(), lexer.getTokenEnd(), lexer.getTokenType(), lexer.getState()));
+            lexer.advance();
+        }
+        return tokens;
+    }
+
+    private static final class Token {
+        final int start;
+        final int end;
+        final IElementType type;
+        final int state;
+
+        Token(int start, int end, IElementType type, int state) {
+            this.start = start;
+            this.end = end;
+            this.type = type;
+            this.state = state;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Token)) return false;
+            Token other = (Token) o;
+            return start == other.start && end == other.end && type == other.type && state == other.state;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(start, end, type, state);
+        }
+
+        @Override
+        public String toString() {
+            return type + "[" + start + ", " + end + ") state=" + state;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.buddhist.lang.lexer;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class BuddhistParallelLexerTest {
+    // Lines that keep strings and block comments open across many following lines, so chunk boundaries fall
+    // inside them as well as between plain statements
+    private static final String[] LINES = {
+            "place data = [1, 2.5, 3, \"four\", null];",
+            "fn add(a, b) { return a + b * 2.5; }",
+            "    if (x >= 10 && y != 3) { println(x); }",
+            "// a line comment with \"quotes\" and /* an opener",
+            "/* a block comment",
+            "   still in the comment */ place after = 1;",
+            "place text = \"a string",
+            "that continues \\\" with an escaped quote",
+            "and ends here\";",
+            "ch <- add(1, 2); place v = <-ch;",
+            "place t\u00ean = \"Vi\u1ec7t Nam\"; set t\u00ean = t\u00ean + \"!\";",
+            "\t\t",
+            "",
+            "}",
+    };
+
+    @Test
+    public void testParallelMatchesSequential() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            String text = generate(random, 2000 + random.nextInt(3000), random.nextBoolean() ? "\n" : "\r\n");
+            for (int chunkSize : new int[]{1, 17, 256, 4096}) {
+                assertSameTokens(text, chunkSize);
+            }
+        }
+    }
+
+    @Test
+    public void testUnterminatedConstructRunsThroughLaterChunks() {
+        StringBuilder text = new StringBuilder("place x = 1;\n/* never closed\n");
+        for (int i = 0; i < 500; i++) {
+            text.append("place y").append(i).append(" = \"not a string\";\n");
+        }
+        assertSameTokens(text.toString(), 64);
+        assertSameTokens(text.toString().replace("/*", "\""), 64);
+    }
+
+    @Test
+    public void testEdgeCases() {
+        assertSameTokens("", 16);
+        assertSameTokens("place x = 1;", 1);
+        // No line start to split at
+        assertSameTokens("place data = [" + "1, ".repeat(1000) + "];", 16);
+        assertSameTokens("\n\n\n   \n\t\n", 1);
+    }
+
+    private static String generate(Random random, int lines, String lineSeparator) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            text.append(LINES[random.nextInt(LINES.length)]).append(lineSeparator);
+        }
+        return text.toString();
+    }
+
+    private static void assertSameTokens(String text, int chunkSize) {
+        BuddhistTokenStream sequential = BuddhistTokenStream.record(new BuddhistLexerSimple(), text);
+        BuddhistTokenStream parallel = BuddhistParallelLexer.lex(text, chunkSize);
+        assertEquals("token count, chunk size " + chunkSize, sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            String message = "token " + i + ", chunk size " + chunkSize;
+            assertEquals(message, sequential.getStart(i), parallel.getStart(i));
+            assertEquals(message, sequential.getEnd(i), parallel.getEnd(i));
+            assertEquals(message, sequential.getType(i), parallel.getType(i));
+            assertEquals(message, sequential.getState(i), parallel.getState(i));
+        }
+    }
+}
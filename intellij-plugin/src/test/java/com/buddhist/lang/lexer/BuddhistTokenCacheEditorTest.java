@@ -0,0 +1,23 @@
+package com.buddhist.lang.lexer;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+// The cache is keyed by identity, so it only helps when the parser is given the very snapshot the editor's
+// highlighter lexed. Typing at the top level makes the commit reparse the whole file.
+public class BuddhistTokenCacheEditorTest extends BasePlatformTestCase {
+    public void testParseAfterTypingReplaysHighlighterTokens() {
+        myFixture.configureByText("a.bl", "place a = 1;\n<caret>\nfn f() {\n    return a;\n}\n");
+        myFixture.type("place b = a;");
+        Document document = myFixture.getEditor().getDocument();
+        CharSequence snapshot = document.getImmutableCharSequence();
+        PsiDocumentManager.getInstance(getProject()).commitDocument(document);
+
+        // The highlighter only recorded the edit; a lookup of this snapshot is what spliced it
+        BuddhistTokenStream tokens = BuddhistTokenCache.getOrRecordEdit(null, snapshot);
+        assertNotNull("the parser didn't look up the editor's snapshot", tokens);
+        BuddhistTokenCacheTest.assertSameTokens(BuddhistTokenStream.record(new BuddhistLexerSimple(), snapshot), tokens);
+        assertEquals(snapshot.toString(), myFixture.getFile().getText());
+    }
+}
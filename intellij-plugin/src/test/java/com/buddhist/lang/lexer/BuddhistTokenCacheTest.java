@@ -0,0 +1,100 @@
+package com.buddhist.lang.lexer;
+
+import com.intellij.lexer.Lexer;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class BuddhistTokenCacheTest {
+    private static final String TEXT = "place a = 1;\n"
+            + "/* a comment\n   over lines */\n"
+            + "fn f(x) {\n    return x + 2.5;\n}\n"
+            + "place s = \"a string\nover lines\";\n"
+            + "ch <- f(a); // done\n";
+    // Edits that open or close comments and strings, change tokens at either end or replace everything
+    private static final String[] INSERTIONS = {"x", " ", "\n", "/*", "*/", "\"", "//", "1.", "<", "-", "\n}\n", ""};
+
+    @Test
+    public void testSpliceMatchesLexingAgain() {
+        Random random = new Random(42);
+        for (int round = 0; round < 2000; round++) {
+            int from = random.nextInt(TEXT.length() + 1);
+            int to = Math.min(TEXT.length(), from + random.nextInt(4));
+            String edited = TEXT.substring(0, from) + INSERTIONS[random.nextInt(INSERTIONS.length)] + TEXT.substring(to);
+            assertSameTokens(lexAgain(edited), BuddhistTokenStream.splice(lexAgain(TEXT), TEXT, edited));
+        }
+        assertSameTokens(lexAgain(""), BuddhistTokenStream.splice(lexAgain(TEXT), TEXT, ""));
+        assertSameTokens(lexAgain(TEXT), BuddhistTokenStream.splice(lexAgain(""), "", TEXT));
+        assertSameTokens(lexAgain(TEXT), BuddhistTokenStream.splice(lexAgain(TEXT), TEXT, new String(TEXT)));
+    }
+
+    // What the editor does on a change: relex from a token before it, stopping once the tokens are the same again
+    @Test
+    public void testParseAfterHighlightingAnEditReplaysCachedTokens() {
+        String before = new String(TEXT);
+        Lexer highlighter = highlight(before);
+        assertNotNull(BuddhistTokenCache.get(before));
+
+        int offset = before.indexOf("return");
+        String after = before.substring(0, offset) + "x = 1; " + before.substring(offset);
+        highlighter.start(after, before.indexOf("    return"), after.length(), BuddhistLexerSimple.STATE_DEFAULT);
+        highlighter.advance();
+        // Recorded, but only spliced once asked for
+        assertNull(BuddhistTokenCache.getOrRecordEdit(null, after));
+
+        BuddhistTokenStream tokens = BuddhistTokenCache.get(after);
+        assertNotNull(tokens);
+        assertSameTokens(lexAgain(after), tokens);
+        assertSame(tokens, BuddhistTokenCache.get(after));
+        assertSameTokens(lexAgain(after), BuddhistTokenStream.record(new BuddhistCachedLexer(), after));
+    }
+
+    @Test
+    public void testEditOfAnEditIsSplicedFromTheLastLexedVersion() {
+        String first = new String(TEXT);
+        Lexer highlighter = highlight(first);
+        String second = first.replace("x + 2.5", "x + 3.5");
+        highlighter.start(second, second.indexOf("    return"), second.length(), BuddhistLexerSimple.STATE_DEFAULT);
+        String third = second.replace("// done", "/* done");
+        highlighter.start(third, third.indexOf("ch"), third.length(), BuddhistLexerSimple.STATE_DEFAULT);
+
+        assertSameTokens(lexAgain(third), BuddhistTokenCache.get(third));
+        assertSameTokens(lexAgain(second), BuddhistTokenCache.get(second));
+    }
+
+    @Test
+    public void testOnlyTheHighlightingLexerFillsTheCache() {
+        String text = new String(TEXT);
+        BuddhistTokenStream.record(new BuddhistCachedLexer(), text);
+        assertNull(BuddhistTokenCache.get(text));
+        highlight(text);
+        assertNotNull(BuddhistTokenCache.get(text));
+    }
+
+    static void assertSameTokens(BuddhistTokenStream expected, BuddhistTokenStream actual) {
+        assertNotNull(actual);
+        assertEquals("token count", expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            String message = "token " + i;
+            assertEquals(message, expected.getStart(i), actual.getStart(i));
+            assertEquals(message, expected.getEnd(i), actual.getEnd(i));
+            assertEquals(message, expected.getType(i), actual.getType(i));
+            assertEquals(message, expected.getState(i), actual.getState(i));
+        }
+    }
+
+    private static BuddhistTokenStream lexAgain(String text) {
+        return BuddhistTokenStream.record(new BuddhistLexerSimple(), text);
+    }
+
+    private static Lexer highlight(String text) {
+        Lexer lexer = new BuddhistCachedLexer(true);
+        BuddhistTokenStream.record(lexer, text);
+        return lexer;
+    }
+}
@@ -0,0 +1,94 @@
+package com.buddhist.lang.parser;
+
+import com.buddhist.lang.BuddhistLanguage;
+import com.buddhist.lang.psi.BuddhistTypes;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.impl.source.tree.TreeElement;
+import com.intellij.psi.impl.source.tree.TreeUtil;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// An edit inside a block reparses just that block, as long as the new block text still stands on its own
+public class BuddhistBlockReparseTest extends BasePlatformTestCase {
+    private static final BuddhistBlockElementType BLOCK = (BuddhistBlockElementType) BuddhistTypes.BLOCK;
+
+    // A full reparse would keep the old block node and diff its children; a block reparse swaps in a new one
+    public void testEditInsideABlockOnlyReplacesThatBlock() {
+        myFixture.configureByText("a.bl", "place a = 1;\nfn f(x) {\n    if (x) {\n        return <caret>1;\n    }\n}\n"
+                + "fn g() {\n    return 2;\n}\n");
+        PsiFile file = myFixture.getFile();
+        ASTNode block = blockAtCaret();
+        ASTNode parent = block.getTreeParent();
+        List<ASTNode> outside = new ArrayList<>();
+        collectOutside(file.getNode(), block, outside);
+
+        myFixture.type("x + ");
+        PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+
+        ASTNode reparsed = blockAtCaret();
+        assertNotSame(block, reparsed);
+        assertSame(parent, reparsed.getTreeParent());
+        for (ASTNode node : outside) {
+            assertSame("detached: " + node, file.getNode(), TreeUtil.getFileElement((TreeElement) node));
+        }
+        PsiFile fresh = PsiFileFactory.getInstance(getProject()).createFileFromText("b.bl", BuddhistLanguage.INSTANCE, file.getText());
+        assertEquals(BuddhistTreeDumpTestCase.dump(fresh.getNode()), BuddhistTreeDumpTestCase.dump(file.getNode()));
+    }
+
+    public void testBalancedBlocksAreParsable() {
+        assertParsable(true, "{}");
+        assertParsable(true, "{ a(); }");
+        assertParsable(true, "{ if (x) { a(); } else { b(); } }");
+    }
+
+    public void testUnbalancedBracesAreNotParsable() {
+        assertParsable(false, "{ a(); ");
+        assertParsable(false, "{ if (x) { a(); }");
+        assertParsable(false, "a(); }");
+        assertParsable(false, "");
+    }
+
+    // Braces inside strings and comments aren't braces, and an unclosed string runs past the closing one
+    public void testBracesInStringsAndCommentsDontCount() {
+        assertParsable(true, "{ place s = \"}\"; }");
+        assertParsable(true, "{ place s = \"{\"; }");
+        assertParsable(true, "{ // }\n    a();\n}");
+        assertParsable(true, "{ /* { */ }");
+        assertParsable(false, "{ place s = \"unclosed; }");
+        assertParsable(false, "{ /* unclosed }");
+    }
+
+    public void testTextAfterTheClosingBraceIsNotParsable() {
+        assertParsable(false, "{ a(); } }");
+        assertParsable(false, "{ a(); } b();");
+        assertParsable(false, "{ } { }");
+    }
+
+    private void assertParsable(boolean expected, String text) {
+        assertEquals(text, expected, BLOCK.isParsable(null, text, BuddhistLanguage.INSTANCE, getProject()));
+    }
+
+    private ASTNode blockAtCaret() {
+        ASTNode node = myFixture.getFile().getNode().findLeafElementAt(myFixture.getCaretOffset());
+        while (node != null && node.getElementType() != BuddhistTypes.BLOCK) {
+            node = node.getTreeParent();
+        }
+        assertNotNull(node);
+        return node;
+    }
+
+    private static void collectOutside(ASTNode node, ASTNode block, List<ASTNode> out) {
+        if (node == block) {
+            return;
+        }
+        out.add(node);
+        for (ASTNode child = node.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+            collectOutside(child, block, out);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.buddhist.lang.parser;
+
+import java.io.IOException;
+
+// Precedence and associativity of expressions, against goldens in src/test/resources/parser/
+public class BuddhistExpressionParsingTest extends BuddhistTreeDumpTestCase {
+    public void testMixedPrecedence() throws IOException {
+        doDumpTest();
+    }
+
+    // a = b = c is a = (b = c)
+    public void testAssignmentChain() throws IOException {
+        doDumpTest();
+    }
+
+    // a <- b <- c is a <- (b <- c), and a prefix <- is a receive
+    public void testSendChain() throws IOException {
+        doDumpTest();
+    }
+
+    public void testPostfixChain() throws IOException {
+        doDumpTest();
+    }
+
+    // A run of operators of one precedence is a single n-ary BINARY_EXPRESSION
+    public void testNaryFolding() throws IOException {
+        doDumpTest();
+    }
+}
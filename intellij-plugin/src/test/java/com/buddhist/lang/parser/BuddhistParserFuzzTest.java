@@ -0,0 +1,77 @@
+package com.buddhist.lang.parser;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.ParsingTestCase;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+public class BuddhistParserFuzzTest extends ParsingTestCase {
+    private static final String[] VOCABULARY = {
+            "place", "set", "const", "fn", "return", "if", "then", "else", "not", "while", "until", "for", "break",
+            "continue", "class", "extends", "this", "super", "export", "import", "from", "try", "catch", "finally",
+            "throw", "spawn", "channel", "true", "false", "null",
+            "x", "foo", "42", "3.5", "\"text\"", "// comment\n", "/* comment */",
+            "+", "-", "*", "/", "%", "=", "==", "!=", "<", ">", "<=", ">=", "&&", "||", "!", "<-", "=>", ".",
+            "(", ")", "{", "}", "[", "]", ",", ";", ":",
+    };
+
+    public BuddhistParserFuzzTest() {
+        super("", "bl", new BuddhistParserDefinition());
+    }
+
+    public void testRandomTokenStreamsParseCompletely() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            String text = randomTokens(random, random.nextInt(200));
+            assertEquals(text, parseFully(text));
+        }
+    }
+
+    public void testParsingTimeIsLinear() {
+        Random random = new Random(7);
+        String small = randomTokens(random, 20_000);
+        String large = randomTokens(random, 160_000);
+        parseFully(small);
+        parseFully(large);
+
+        long smallNanos = bestOfThree(small);
+        long largeNanos = bestOfThree(large);
+
+        // 8x the input; quadratic behaviour would show up as ~64x
+        assertTrue("small " + smallNanos + "ns, large " + largeNanos + "ns", largeNanos < 32 * smallNanos);
+    }
+
+    private long bestOfThree(String text) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            parseFully(text);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    // Parses the file and expands every lazy block, returning the text of the resulting tree
+    private String parseFully(String text) {
+        PsiFile file = createPsiFile("fuzz", text);
+        ASTNode root = file.getNode();
+        ArrayDeque<ASTNode> nodes = new ArrayDeque<>();
+        nodes.push(root);
+        while (!nodes.isEmpty()) {
+            for (ASTNode child = nodes.pop().getFirstChildNode(); child != null; child = child.getTreeNext()) {
+                nodes.push(child);
+            }
+        }
+        return root.getText();
+    }
+
+    private static String randomTokens(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(VOCABULARY[random.nextInt(VOCABULARY.length)]).append(random.nextInt(4) == 0 ? "\n" : " ");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package com.buddhist.lang.parser;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.ParsingTestCase;
+
+import java.util.ArrayDeque;
+
+public class BuddhistParserStressTest extends ParsingTestCase {
+    private static final int LEVELS = 100_000;
+    private static final long TIME_LIMIT_MILLIS = 10_000;
+
+    public BuddhistParserStressTest() {
+        super("", "bl", new BuddhistParserDefinition());
+    }
+
+    public void testNestedArrays() {
+        assertParsesFlat("place x = " + "[".repeat(LEVELS) + "1" + "]".repeat(LEVELS) + ";");
+    }
+
+    public void testNestedObjects() {
+        assertParsesFlat("place x = " + "{a: ".repeat(LEVELS) + "1" + "}".repeat(LEVELS) + ";");
+    }
+
+    public void testNestedParentheses() {
+        assertParsesFlat("(".repeat(LEVELS) + "x" + ")".repeat(LEVELS) + ";");
+    }
+
+    public void testPrefixOperators() {
+        assertParsesFlat("!".repeat(LEVELS) + "x;");
+    }
+
+    public void testAssignmentChain() {
+        assertParsesFlat("a = ".repeat(LEVELS) + "1;");
+    }
+
+    public void testCallChain() {
+        assertParsesFlat("f" + "(1)".repeat(LEVELS) + ";");
+    }
+
+    public void testNestedClasses() {
+        assertParsesFlat("class a{".repeat(LEVELS) + "}".repeat(LEVELS));
+    }
+
+    public void testNestedForInits() {
+        assertParsesFlat("for(".repeat(LEVELS) + "x");
+    }
+
+    public void testUnclosedBrackets() {
+        assertParsesFlat("place x = " + "[{(".repeat(LEVELS));
+    }
+
+    private void assertParsesFlat(String text) {
+        long start = System.nanoTime();
+        PsiFile file = createPsiFile("deep", text);
+        int depth = treeDepth(file.getNode());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(text, file.getText());
+        assertTrue("tree depth " + depth, depth <= 4 * BuddhistParser.DEFAULT_MAX_NESTING_DEPTH);
+        assertTrue("parsed in " + elapsedMillis + "ms", elapsedMillis < TIME_LIMIT_MILLIS);
+    }
+
+    private static int treeDepth(ASTNode root) {
+        ArrayDeque<ASTNode> nodes = new ArrayDeque<>();
+        ArrayDeque<Integer> depths = new ArrayDeque<>();
+        nodes.push(root);
+        depths.push(1);
+        int max = 0;
+        while (!nodes.isEmpty()) {
+            ASTNode node = nodes.pop();
+            int depth = depths.pop();
+            max = Math.max(max, depth);
+            for (ASTNode child = node.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+                nodes.push(child);
+                depths.push(depth + 1);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,38 @@
+package com.buddhist.lang.parser;
+
+import java.io.IOException;
+
+// Declarations and statements, against goldens in src/test/resources/parser/
+public class BuddhistStatementParsingTest extends BuddhistTreeDumpTestCase {
+    public void testClassDeclaration() throws IOException {
+        doDumpTest();
+    }
+
+    // try is an expression, so it can be assigned; catch takes an optional (name)
+    public void testTryCatchFinally() throws IOException {
+        doDumpTest();
+    }
+
+    // A missing name or value is reported, like in set statements; a declaration without a value is fine
+    public void testBadDeclarations() throws IOException {
+        doDumpTest();
+    }
+
+    public void testThrowStatement() throws IOException {
+        doDumpTest();
+    }
+
+    // Both import forms, and export of a name list and of each kind of declaration
+    public void testImportExport() throws IOException {
+        doDumpTest();
+    }
+
+    // Stray tokens in a class body are skipped up to the next member, which still parses
+    public void testClassBodyRecovery() throws IOException {
+        doDumpTest();
+    }
+
+    public void testUnclosedClassBody() throws IOException {
+        doDumpTest();
+    }
+}
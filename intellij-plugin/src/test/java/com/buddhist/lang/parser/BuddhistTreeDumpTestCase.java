@@ -0,0 +1,72 @@
+package com.buddhist.lang.parser;
+
+import com.buddhist.lang.psi.BuddhistTokenSets;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiErrorElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.impl.source.tree.LeafElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.testFramework.ParsingTestCase;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses a fixture from src/test/resources/parser/ and compares its tree with the .txt golden next to it. The
+ * dump has one line a node, composites by element type and leaves by type and text. It leaves out whitespace and
+ * comments and expands lazy blocks, so it only changes when the structure of the tree does.
+ */
+public abstract class BuddhistTreeDumpTestCase extends ParsingTestCase {
+    private static final String FIXTURES = "/parser/";
+
+    protected BuddhistTreeDumpTestCase() {
+        super("", "bl", new BuddhistParserDefinition());
+    }
+
+    // Checks the fixture named after the running test: testSendChain reads sendChain.bl and sendChain.txt
+    protected void doDumpTest() throws IOException {
+        String name = getTestName(true);
+        String text = readFixture(name + ".bl");
+        PsiFile file = createPsiFile(name, text);
+        assertEquals(text, file.getText());
+        assertEquals("tree of " + FIXTURES + name + ".bl", readFixture(name + ".txt"), dump(file.getNode()));
+    }
+
+    static String dump(ASTNode root) {
+        StringBuilder out = new StringBuilder();
+        for (ASTNode child = root.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+            dump(child, 0, out);
+        }
+        return out.toString();
+    }
+
+    private static void dump(ASTNode node, int depth, StringBuilder out) {
+        IElementType type = node.getElementType();
+        if (type == TokenType.WHITE_SPACE || BuddhistTokenSets.COMMENTS.contains(type)) {
+            return;
+        }
+        out.append("  ".repeat(depth));
+        if (node instanceof PsiErrorElement) {
+            out.append("ERROR: ").append(((PsiErrorElement) node).getErrorDescription());
+        } else {
+            out.append(type);
+        }
+        if (node instanceof LeafElement) {
+            out.append(" '").append(node.getText().replace("\n", "\\n")).append('\'');
+        }
+        out.append('\n');
+        for (ASTNode child = node.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+            dump(child, depth + 1, out);
+        }
+    }
+
+    private static String readFixture(String name) throws IOException {
+        InputStream stream = BuddhistTreeDumpTestCase.class.getResourceAsStream(FIXTURES + name);
+        assertNotNull(FIXTURES + name, stream);
+        try (stream) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.buddhist.lang.psi;
+
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtilCore;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class BuddhistChannelSummaryTest extends BasePlatformTestCase {
+    public void testSendsAndReceivesAreGroupedByChannel() {
+        myFixture.configureByText("a.bl", "fn work(ch, out) {\n    ch <- 1;\n    place x = <-ch;\n    out <- x;\n    ch <- 2;\n}\n");
+        BuddhistChannelSummary summary = BuddhistChannelSummary.of(function("work"));
+        assertEquals(List.of("ch", "out"), new ArrayList<>(summary.getSentChannels()));
+        assertEquals(Set.of("ch"), summary.getReceivedChannels());
+        assertEquals(2, summary.getSends("ch").size());
+        assertEquals(1, summary.getSends("out").size());
+        assertEquals(1, summary.getReceives("ch").size());
+        assertEmpty(summary.getReceives("out"));
+    }
+
+    // Spacing and comments inside a member channel don't make it another channel; a call result isn't tracked
+    public void testMemberChannelsAreKeyedByNames() {
+        myFixture.configureByText("a.bl", "class Pool {\n    fn run() {\n"
+                + "        this.jobs <- 1;\n        this . jobs <- 2;\n        this./* the queue */jobs <- 3;\n"
+                + "        place job = <-this.jobs;\n        make().jobs <- 4;\n    }\n}\n");
+        BuddhistChannelSummary summary = BuddhistChannelSummary.of(function("run"));
+        assertEquals(Set.of("this.jobs"), summary.getSentChannels());
+        assertEquals(3, summary.getSends("this.jobs").size());
+        assertEquals(Set.of("this.jobs"), summary.getReceivedChannels());
+    }
+
+    public void testNestedFunctionsAndSpawnedClosuresHaveTheirOwnSummaries() {
+        myFixture.configureByText("a.bl", "fn outer(ch, done) {\n    ch <- 1;\n"
+                + "    spawn fn() {\n        ch <- 2;\n        place v = <-ch;\n    };\n"
+                + "    fn inner() {\n        done <- 3;\n    }\n}\n");
+        BuddhistChannelSummary outer = BuddhistChannelSummary.of(function("outer"));
+        assertEquals(Set.of("ch"), outer.getSentChannels());
+        assertEquals(1, outer.getSends("ch").size());
+        assertEmpty(outer.getReceivedChannels());
+
+        PsiElement closure = PsiTreeUtil.findChildOfType(myFixture.getFile(), BuddhistSpawnExpression.class).getSpawnedExpression();
+        assertEquals(BuddhistTypes.FUNCTION_LITERAL, PsiUtilCore.getElementType(closure));
+        BuddhistChannelSummary spawned = BuddhistChannelSummary.of(closure);
+        assertEquals(1, spawned.getSends("ch").size());
+        assertEquals(1, spawned.getReceives("ch").size());
+
+        assertEquals(Set.of("done"), BuddhistChannelSummary.of(function("inner")).getSentChannels());
+    }
+
+    // An edit inside the body reparses only the block, so the function is the same element with a new summary
+    public void testSummaryIsRecomputedAfterAnEdit() {
+        myFixture.configureByText("a.bl", "fn work(ch, out) {\n    ch <- 1;\n    <caret>\n}\n");
+        BuddhistFunctionDeclaration function = function("work");
+        BuddhistChannelSummary before = BuddhistChannelSummary.of(function);
+        assertSame(before, BuddhistChannelSummary.of(function));
+
+        myFixture.type("out <- 2;");
+        PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+        assertTrue(function.isValid());
+        BuddhistChannelSummary after = BuddhistChannelSummary.of(function);
+        assertNotSame(before, after);
+        assertEquals(List.of("ch", "out"), new ArrayList<>(after.getSentChannels()));
+    }
+
+    private BuddhistFunctionDeclaration function(String name) {
+        for (BuddhistFunctionDeclaration function : PsiTreeUtil.findChildrenOfType(myFixture.getFile(), BuddhistFunctionDeclaration.class)) {
+            if (name.equals(function.getName())) {
+                return function;
+            }
+        }
+        throw new AssertionError("no function " + name);
+    }
+}
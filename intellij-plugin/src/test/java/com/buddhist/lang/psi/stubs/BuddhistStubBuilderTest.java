@@ -0,0 +1,93 @@
+package com.buddhist.lang.psi.stubs;
+
+import com.buddhist.lang.parser.BuddhistParserDefinition;
+import com.intellij.lang.FCTSBackedLighterAST;
+import com.intellij.lang.TreeBackedLighterAST;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.stubs.DefaultStubBuilder;
+import com.intellij.psi.stubs.LightStubBuilder;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.tree.ILightStubFileElementType;
+import com.intellij.testFramework.ParsingTestCase;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Stubs built from the light tree, from the AST through LightStubBuilder, and from PSI must all be the same,
+// over examples/ and the parser fixtures, which have the imports and exports examples/ lacks
+public class BuddhistStubBuilderTest extends ParsingTestCase {
+    private static final ILightStubFileElementType<?> FILE = (ILightStubFileElementType<?>) BuddhistParserDefinition.FILE;
+
+    public BuddhistStubBuilderTest() {
+        super("", "bl", new BuddhistParserDefinition());
+    }
+
+    public void testAllPathsBuildTheSameStubs() throws IOException, URISyntaxException {
+        List<Path> files = new ArrayList<>();
+        files.addAll(listFixtures(Paths.get(System.getProperty("buddhist.examples.dir", "../examples"))));
+        files.addAll(listFixtures(Paths.get(BuddhistStubBuilderTest.class.getResource("/parser").toURI())));
+        assertFalse("no fixtures", files.isEmpty());
+
+        long stubs = 0;
+        for (Path path : files) {
+            String text = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+            String light = describe(buildLight(createPsiFile("light", text)));
+            PsiFile file = createPsiFile("tree", text);
+            String tree = describe(buildFromTree(file));
+            String psi = describe(new DefaultStubBuilder().buildStubTree(file));
+            assertEquals("light and tree-backed stubs of " + path, tree, light);
+            assertEquals("tree-backed and PSI stubs of " + path, psi, tree);
+            stubs += light.chars().filter(c -> c == '\n').count();
+        }
+        assertTrue("no stubs in any fixture", stubs > 0);
+    }
+
+    private static List<Path> listFixtures(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(path -> path.toString().endsWith(".bl")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    // What indexing does for a file nobody has opened: parse into a light tree, never creating the AST
+    private static StubElement<?> buildLight(PsiFile file) {
+        LightStubBuilder.FORCED_AST.set(new FCTSBackedLighterAST(FILE.parseContentsLight(file.getNode())));
+        return FILE.getBuilder().buildStubTree(file);
+    }
+
+    // What indexing does for a file whose AST is already loaded
+    private static StubElement<?> buildFromTree(PsiFile file) {
+        LightStubBuilder.FORCED_AST.set(new TreeBackedLighterAST(file.getNode()));
+        return FILE.getBuilder().buildStubTree(file);
+    }
+
+    // Everything each stub serializes, one line a stub
+    private static String describe(StubElement<?> root) {
+        StringBuilder out = new StringBuilder();
+        for (StubElement<?> child : root.getChildrenStubs()) {
+            describe(child, 0, out);
+        }
+        return out.toString();
+    }
+
+    private static void describe(StubElement<?> stub, int depth, StringBuilder out) {
+        out.append("  ".repeat(depth)).append(stub.getStubType());
+        if (stub instanceof BuddhistDeclarationStub) {
+            out.append(' ').append(((BuddhistDeclarationStub) stub).getName());
+        } else if (stub instanceof BuddhistImportStub) {
+            BuddhistImportStub importStub = (BuddhistImportStub) stub;
+            out.append(' ').append(importStub.getPath()).append(' ').append(importStub.getImportedNames());
+        }
+        out.append('\n');
+        for (StubElement<?> child : stub.getChildrenStubs()) {
+            describe(child, depth + 1, out);
+        }
+    }
+}
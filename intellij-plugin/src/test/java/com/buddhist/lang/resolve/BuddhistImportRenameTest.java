@@ -0,0 +1,74 @@
+package com.buddhist.lang.resolve;
+
+import com.buddhist.lang.psi.BuddhistFunctionDeclaration;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiReference;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import com.intellij.usageView.UsageInfo;
+
+import java.util.Collection;
+
+// Names imported from another module resolve to the declaration itself, so rename and find usages cross files
+public class BuddhistImportRenameTest extends BasePlatformTestCase {
+    private static final String IMPORTER = "import {foo} from \"a\";\nfoo();\nplace x = foo;\n";
+
+    public void testCallResolvesToImportedDeclaration() {
+        myFixture.addFileToProject("a.bl", "export fn foo() {}\n");
+        myFixture.configureByText("b.bl", "import {foo} from \"a\";\nfo<caret>o();\n");
+        assertResolvesToFunction();
+    }
+
+    public void testCallResolvesThroughExportSpecifier() {
+        myFixture.addFileToProject("a.bl", "fn foo() {}\nexport {foo};\n");
+        myFixture.configureByText("b.bl", "import {foo} from \"a\";\nfo<caret>o();\n");
+        assertResolvesToFunction();
+    }
+
+    public void testCallResolvesThroughReExport() {
+        myFixture.addFileToProject("a.bl", "export fn foo() {}\n");
+        myFixture.addFileToProject("b.bl", "import {foo} from \"a\";\nexport {foo};\n");
+        myFixture.configureByText("c.bl", "import {foo} from \"b\";\nfo<caret>o();\n");
+        assertResolvesToFunction();
+    }
+
+    public void testRenameExportedDeclaration() {
+        PsiFile importer = myFixture.addFileToProject("b.bl", IMPORTER);
+        myFixture.configureByText("a.bl", "export fn fo<caret>o() {}\n");
+        myFixture.renameElementAtCaret("bar");
+        myFixture.checkResult("export fn bar() {}\n");
+        assertEquals(IMPORTER.replace("foo", "bar"), importer.getText());
+    }
+
+    public void testRenameThroughExportSpecifier() {
+        PsiFile importer = myFixture.addFileToProject("b.bl", IMPORTER);
+        myFixture.configureByText("a.bl", "fn fo<caret>o() {}\nexport {foo};\n");
+        myFixture.renameElementAtCaret("bar");
+        myFixture.checkResult("fn bar() {}\nexport {bar};\n");
+        assertEquals(IMPORTER.replace("foo", "bar"), importer.getText());
+    }
+
+    public void testRenameFromImportingFile() {
+        PsiFile module = myFixture.addFileToProject("a.bl", "export fn foo() {}\n");
+        myFixture.configureByText("b.bl", IMPORTER.replace("foo();", "fo<caret>o();"));
+        myFixture.renameElementAtCaret("bar");
+        myFixture.checkResult(IMPORTER.replace("foo", "bar"));
+        assertEquals("export fn bar() {}\n", module.getText());
+    }
+
+    public void testFindUsagesReachesImportingFiles() {
+        myFixture.addFileToProject("b.bl", IMPORTER);
+        myFixture.configureByText("a.bl", "fn fo<caret>o() {}\nexport {foo};\n");
+        Collection<UsageInfo> usages = myFixture.findUsages(myFixture.getElementAtCaret());
+        // export {foo}, import {foo}, the call and the read
+        assertEquals(4, usages.size());
+    }
+
+    private void assertResolvesToFunction() {
+        PsiReference reference = myFixture.getFile().findReferenceAt(myFixture.getCaretOffset());
+        assertNotNull(reference);
+        PsiElement target = reference.resolve();
+        assertInstanceOf(target, BuddhistFunctionDeclaration.class);
+        assertEquals("a.bl", target.getContainingFile().getName());
+    }
+}
@@ -0,0 +1,98 @@
+package com.buddhist.lang.resolve;
+
+import com.buddhist.lang.psi.BuddhistDeclaration;
+import com.buddhist.lang.psi.BuddhistExportSpecifier;
+import com.buddhist.lang.psi.BuddhistFunctionDeclaration;
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiReference;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.List;
+import java.util.Map;
+
+public class BuddhistModuleGraphTest extends BasePlatformTestCase {
+    private static final String MAIN = "import {a} from \"util\";\nimport {b} from \"lib/strings.bl\";\nimport {c} from \"missing\";\n";
+
+    // Relative to the importing file first, then to the content root, with or without the extension
+    public void testImportPathsResolveToModules() {
+        VirtualFile util = module("app/util.bl");
+        VirtualFile strings = module("lib/strings.bl");
+        module("app/lib/other.bl");
+        PsiFile main = myFixture.addFileToProject("app/main.bl", MAIN);
+
+        BuddhistModuleGraph graph = BuddhistModuleGraph.getInstance(getProject());
+        assertEquals(util, graph.resolveModule(main, "util"));
+        assertEquals(strings, graph.resolveModule(main, "lib/strings.bl"));
+        assertNull(graph.resolveModule(main, "missing"));
+        assertEquals(List.of(util, strings), graph.getDependencies(main));
+    }
+
+    public void testModuleNextToTheImporterWinsOverTheContentRoot() {
+        VirtualFile nearby = module("app/lib/strings.bl");
+        module("lib/strings.bl");
+        PsiFile main = myFixture.addFileToProject("app/main.bl", "import {b} from \"lib/strings\";\n");
+        assertEquals(nearby, BuddhistModuleGraph.getInstance(getProject()).resolveModule(main, "lib/strings"));
+    }
+
+    public void testExportsMapNamesToDeclarationsAndSpecifiers() {
+        PsiFile module = myFixture.addFileToProject("util.bl", "export fn foo() {}\nplace bar = 1;\nexport {bar};\n");
+        Map<String, BuddhistDeclaration> exports = BuddhistModuleGraph.getExports(module);
+        assertEquals(2, exports.size());
+        assertInstanceOf(exports.get("foo"), BuddhistFunctionDeclaration.class);
+        assertInstanceOf(exports.get("bar"), BuddhistExportSpecifier.class);
+    }
+
+    public void testModulesComingAndGoingAreSeen() throws Exception {
+        PsiFile main = myFixture.addFileToProject("app/main.bl", MAIN);
+        BuddhistModuleGraph graph = BuddhistModuleGraph.getInstance(getProject());
+        assertNull(graph.resolveModule(main, "missing"));
+
+        VirtualFile missing = module("app/missing.bl");
+        assertEquals(missing, graph.resolveModule(main, "missing"));
+
+        WriteAction.run(() -> missing.rename(this, "found.bl"));
+        assertNull(graph.resolveModule(main, "missing"));
+    }
+
+    // Only modules and directories under the content roots invalidate entries, not other files or edits
+    public void testOtherFileEventsKeepEntries() throws Exception {
+        VirtualFile util = module("app/util.bl");
+        PsiFile main = myFixture.addFileToProject("app/main.bl", MAIN);
+        BuddhistModuleGraph graph = BuddhistModuleGraph.getInstance(getProject());
+        List<VirtualFile> dependencies = graph.getDependencies(main);
+
+        myFixture.addFileToProject("app/notes.txt", "not a module");
+        WriteAction.run(() -> VfsUtil.saveText(util, "export fn a() {}\n"));
+        assertSame(dependencies, graph.getDependencies(main));
+
+        module("app/other.bl");
+        assertNotSame(dependencies, graph.getDependencies(main));
+    }
+
+    // Each round drops the entries, so what is timed is recomputing one file's imports with 5k modules around
+    public void testGoToImportedDeclarationAmongFiveThousandModules() throws Exception {
+        WriteAction.run(() -> {
+            VirtualFile directory = myFixture.getTempDirFixture().findOrCreateDir("modules");
+            for (int i = 0; i < 5000; i++) {
+                VfsUtil.saveText(directory.createChildData(this, "m" + i + ".bl"), "export fn f" + i + "() {}\n");
+            }
+        });
+        myFixture.configureByText("main.bl", "import {f4999} from \"modules/m4999\";\nf4999<caret>();\n");
+        PsiReference reference = myFixture.getFile().findReferenceAt(myFixture.getCaretOffset());
+        assertNotNull(reference);
+        BuddhistModuleGraph graph = BuddhistModuleGraph.getInstance(getProject());
+
+        PlatformTestUtil.startPerformanceTest("go to declaration of an import among 5000 modules", 10, () -> {
+            graph.modulesChanged();
+            assertInstanceOf(reference.resolve(), BuddhistFunctionDeclaration.class);
+        }).assertTiming();
+    }
+
+    private VirtualFile module(String path) {
+        return myFixture.addFileToProject(path, "export fn a() {}\nexport fn b() {}\n").getVirtualFile();
+    }
+}
@@ -0,0 +1,72 @@
+package lexer
+
+import (
+	"flag"
+	"fmt"
+	"io/fs"
+	"os"
+	"path/filepath"
+	"strings"
+	"testing"
+
+	"github.com/caokhang91/buddhist-go/pkg/token"
+)
+
+var updateGolden = flag.Bool("update", false, "rewrite the token count fixture of the IntelliJ plugin")
+
+const (
+	goldenExamples = "../../examples"
+	goldenFixture  = "../../intellij-plugin/src/test/resources/lexer/go-token-counts.txt"
+)
+
+// TestGoldenTokenCounts records how many tokens this lexer produces for every example. The IntelliJ
+// plugin's lexer test compares its own counts against the fixture, so the two lexers can't drift apart.
+// After changing the lexer or the examples, regenerate it with:
+//
+//	go test ./pkg/lexer -run TestGoldenTokenCounts -update
+func TestGoldenTokenCounts(t *testing.T) {
+	var b strings.Builder
+	b.WriteString("# Token counts of pkg/lexer for examples/, excluding EOF. Generated by\n")
+	b.WriteString("# go test ./pkg/lexer -run TestGoldenTokenCounts -update\n")
+	err := filepath.WalkDir(goldenExamples, func(path string, d fs.DirEntry, err error) error {
+		if err != nil || d.IsDir() || !strings.HasSuffix(path, ".bl") {
+			return err
+		}
+		data, err := os.ReadFile(path)
+		if err != nil {
+			return err
+		}
+		rel, err := filepath.Rel(goldenExamples, path)
+		if err != nil {
+			return err
+		}
+		fmt.Fprintf(&b, "%s %d\n", filepath.ToSlash(rel), countTokens(string(data)))
+		return nil
+	})
+	if err != nil {
+		t.Fatal(err)
+	}
+
+	if *updateGolden {
+		if err := os.WriteFile(goldenFixture, []byte(b.String()), 0o644); err != nil {
+			t.Fatal(err)
+		}
+		return
+	}
+	want, err := os.ReadFile(goldenFixture)
+	if err != nil {
+		t.Fatal(err)
+	}
+	if string(want) != b.String() {
+		t.Errorf("%s is out of date; rerun with -update\ngot:\n%s", goldenFixture, b.String())
+	}
+}
+
+func countTokens(input string) int {
+	l := New(input)
+	count := 0
+	for l.NextToken().Type != token.EOF {
+		count++
+	}
+	return count
+}